@@ -0,0 +1,27 @@
+/*****************************************************************
+  * FILE NAME: OperationTimerMBean.java
+  * WHO: Jenny Wang and Lily Xie
+  * WHEN: October 18, 2026
+  *
+  * WHAT: OperationTimerMBean is what JMX tools such as jconsole 
+  * see of an OperationTimer. Times are in microseconds; the
+  * percentiles are the upper bounds of histogram buckets, so they
+  * are accurate to within a factor of two.
+  ****************************************************************/
+
+public interface OperationTimerMBean {
+
+  long getCount();
+
+  double getMeanMicros();
+
+  double getMaxMicros();
+
+  double getP50Micros();
+
+  double getP99Micros();
+
+  long getAllocatedBytes();
+
+  void reset();
+}
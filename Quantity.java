@@ -0,0 +1,167 @@
+/*****************************************************************
+  * FILE NAME: Quantity.java
+  * WHO: Jenny Wang and Lily Xie
+  * WHEN: October 18, 2026
+  *
+  * WHAT: Quantity is an amount of an ingredient, such as "2 cups"
+  * or "1 1/2 lb", converted when it is read into the base unit of
+  * its dimension:
+  *  - COUNT, in items ("6", "2 slices", "1 each")
+  *  - VOLUME, in millilitres (tsp, tbsp, cup, fl oz, pint, quart,
+  *    gallon, ml, l)
+  *  - MASS, in grams (g, kg, mg, oz, lb)
+  * so quantities of one dimension compare as plain numbers and
+  * nothing is converted while scoring. Amounts are whole numbers,
+  * decimals or fractions, optionally a whole number and a
+  * fraction. A unit that is not known (a pinch, to taste) gives a
+  * Quantity of dimension NONE, which is treated as no amount at
+  * all. Quantities never change.
+  ****************************************************************/
+
+import java.util.*;
+import java.math.*;
+
+public class Quantity {
+
+  /****************************************************************
+    * Dimension is what a quantity measures. NONE must stay first,
+    * as catalogs store dimensions by ordinal with 0 for no amount.
+    **************************************************************/
+  public enum Dimension { NONE, COUNT, VOLUME, MASS }
+
+  /****************************************************************
+    * UNKNOWN is the quantity of an ingredient given without one.
+    **************************************************************/
+  public static final Quantity UNKNOWN = new Quantity(0, Dimension.NONE);
+
+  //unit name -> dimension and size in base units
+  private static final HashMap<String, Quantity> UNITS = new HashMap<String, Quantity>();
+
+  static {
+    unit(Dimension.COUNT, 1, "", "x", "each", "whole", "piece", "slice", "clove", "can", "large",
+         "medium", "small");
+    unit(Dimension.VOLUME, 1, "ml", "milliliter", "millilitre");
+    unit(Dimension.VOLUME, 1000, "l", "liter", "litre");
+    unit(Dimension.VOLUME, 4.92892, "tsp", "teaspoon");
+    unit(Dimension.VOLUME, 14.7868, "tbsp", "tablespoon", "tbs", "tb");
+    unit(Dimension.VOLUME, 29.5735, "fl oz", "fluid ounce");
+    unit(Dimension.VOLUME, 236.588, "cup", "c");
+    unit(Dimension.VOLUME, 473.176, "pint", "pt");
+    unit(Dimension.VOLUME, 946.353, "quart", "qt");
+    unit(Dimension.VOLUME, 3785.41, "gallon", "gal");
+    unit(Dimension.MASS, 1, "g", "gram", "gramme");
+    unit(Dimension.MASS, 1000, "kg", "kilogram");
+    unit(Dimension.MASS, 0.001, "mg", "milligram");
+    unit(Dimension.MASS, 28.3495, "oz", "ounce");
+    unit(Dimension.MASS, 453.592, "lb", "pound");
+  }
+
+  private static void unit(Dimension dimension, double size, String... names) {
+    for (String name : names) UNITS.put(name, new Quantity(size, dimension));
+  }
+
+  private final double amount; //in the base unit of dimension
+  private final Dimension dimension;
+
+  /****************************************************************
+    * Constructor creates a quantity already in base units.
+    *
+    * @param double amount is the amount in items, ml or g
+    * @param Dimension dimension is what it measures
+    **************************************************************/
+  public Quantity(double amount, Dimension dimension) {
+    this.amount = amount;
+    this.dimension = dimension;
+  }
+
+  /****************************************************************
+    * parse reads a quantity such as "2 cups", "1/2 tsp", "1 1/2 lb"
+    * or "3". Text that does not start with an amount, or ends with
+    * a unit that is not known, gives UNKNOWN.
+    *
+    * @param String text is the quantity as written
+    **************************************************************/
+  public static Quantity parse(String text) {
+    String[] words = text.trim().toLowerCase(Locale.ROOT).split("\\s+");
+    int w = 0;
+    double amount = number(words[0]);
+    if (Double.isNaN(amount)) return UNKNOWN;
+    w++;
+    if (w < words.length && words[w].indexOf('/') > 0) {
+      double fraction = number(words[w]);
+      if (Double.isNaN(fraction)) return UNKNOWN;
+      amount += fraction;
+      w++;
+    }
+
+    StringBuilder name = new StringBuilder();
+    for (; w < words.length; w++) name.append(name.length() > 0 ? " " : "").append(words[w]);
+    String unitName = name.toString();
+    if (unitName.endsWith(".")) unitName = unitName.substring(0, unitName.length() - 1);
+    Quantity unit = UNITS.get(unitName);
+    if (unit == null && unitName.endsWith("s")) unit = UNITS.get(unitName.substring(0, unitName.length() - 1));
+    if (unit == null || amount <= 0) return UNKNOWN;
+    return new Quantity(amount * unit.amount, unit.dimension);
+  }
+
+  /****************************************************************
+    * number reads a whole number, decimal or fraction, or returns
+    * NaN.
+    **************************************************************/
+  private static double number(String word) {
+    try {
+      int slash = word.indexOf('/');
+      if (slash < 0) return Double.parseDouble(word);
+      return Double.parseDouble(word.substring(0, slash)) / Double.parseDouble(word.substring(slash + 1));
+    } catch (NumberFormatException e) {
+      return Double.NaN;
+    }
+  }
+
+  /****************************************************************
+    * getAmount returns the amount in items, ml or g.
+    **************************************************************/
+  public double getAmount() {
+    return amount;
+  }
+
+  /****************************************************************
+    * getDimension returns what the quantity measures.
+    **************************************************************/
+  public Dimension getDimension() {
+    return dimension;
+  }
+
+  /****************************************************************
+    * toString returns the amount and its base unit.
+    **************************************************************/
+  public String toString() {
+    String number = new BigDecimal(amount).round(new MathContext(4)).stripTrailingZeros().toPlainString();
+    switch (dimension) {
+      case COUNT: return number;
+      case VOLUME: return number + " ml";
+      case MASS: return number + " g";
+      default: return "some";
+    }
+  }
+
+
+  public static void main(String[] args) {
+    //testing parse
+    System.out.println("Testing parse");
+    System.out.println("Expected: 6\tActual: " + parse("6"));
+    System.out.println("Expected: 473.2 ml\tActual: " + parse("2 cups"));
+    System.out.println("Expected: 2.464 ml\tActual: " + parse("1/2 tsp"));
+    System.out.println("Expected: 680.4 g\tActual: " + parse("1 1/2 lbs."));
+    System.out.println("Expected: 59.15 ml\tActual: " + parse("2 fl oz"));
+    System.out.println("Expected: 2\tActual: " + parse("2 Slices"));
+    System.out.println("Expected: some\tActual: " + parse("a pinch"));
+    System.out.println("Expected: some\tActual: " + parse("3 handfuls"));
+    System.out.println("Expected: some\tActual: " + parse(""));
+
+    //testing comparison within a dimension
+    System.out.println("\nTesting comparison");
+    System.out.println("Expected: true\tActual: " + (parse("1 kg").getAmount() > parse("2 lb").getAmount()));
+    System.out.println("Expected: VOLUME\tActual: " + parse("3 tbsp").getDimension());
+  }
+}
@@ -4,161 +4,279 @@
   * WHEN: May 18, 2014
   * 
   * WHAT: Recipe represents a recipe that contains a list of 
-  * ingredients and a score, which represents how easy or hard it 
-  * would be for a user to make that recipe. 
+  * ingredients. Recipes are made by a RecipeCatalog.Builder and
+  * never change afterwards, so they can be shared between Users;
+  * how easy or hard a recipe is for a given user to make is kept 
+  * in that user's FridgeScores rather than in the Recipe.
   * This class contains methods to:
   *  - Search for whether a Recipe contains a certain ingredient
-  *  - Increment the score based on the availability of certain 
-  *    ingredients
-  *  - Get Recipe information such as the name, ingredient list, 
-  *    score, and size
+  *  - Count how many of its ingredients are available, or list
+  *    the IDs of the available and needed ones into a buffer,
+  *    either by presence alone (a BitSet fridge) or by whether
+  *    there is enough of each (a fridge of amounts, as from
+  *    FridgeScores.getAmounts)
+  *  - Get Recipe information such as the ID, name, ingredient 
+  *    list, and size
+  * 
+  * Ingredients are not stored as Strings. Each one is interned in
+  * an IngredientDictionary, and the catalog's RecipeStore keeps the
+  * sorted IDs of every recipe in one column, so a membership test
+  * is a binary search over a few ints. A Recipe is a small view of
+  * its row of the store, made by RecipeCatalog.get when asked for;
+  * two views of the same recipe are equal.
   ****************************************************************/
 
 import java.util.*;
 
 public class Recipe implements Comparable<Recipe> {
   
-  public String name;
-  private LinkedList<String> ingredientList;
-  private int score;
+  private final int id; //position in the catalog
+  private final RecipeStore store;
+  private final IngredientDictionary dictionary;
+  private final int start, end; //the Recipe's sorted, unique IDs in store
   
   /****************************************************************
-    * Constructor creates the Recipe object. The ingredientList is
-    * initialized as empty, and the score is initialized to zero.
+    * Constructor creates a view of one recipe of a store. It is
+    * only called by RecipeCatalog.
     * 
-    * @param String name is the name of the Recipe
+    * @param int id is the Recipe's ID in its catalog
+    * @param RecipeStore store holds the catalog's recipes
+    * @param IngredientDictionary dictionary is the catalog's dictionary
     **************************************************************/
-  public Recipe(String name) {
-    this.name = name;
-    ingredientList = new LinkedList<String>(); 
-    score = 0; 
+  Recipe(int id, RecipeStore store, IngredientDictionary dictionary) {
+    this.id = id;
+    this.store = store;
+    this.dictionary = dictionary;
+    start = store.start(id);
+    end = store.start(id + 1);
   }
   
   /****************************************************************
-    * addIngredient adds an ingredient i to ingredientList, given
-    * that i does not already exist in ingredientList. If the
-    * ingredient i already exists, no action is taken.
+    * getAvailable writes the IDs of the Recipe's ingredients that 
+    * are in given, a fridge represented as a BitSet over dictionary
+    * IDs, into out, smallest first, and returns how many it wrote.
+    * Nothing is allocated, so a caller can reuse one out buffer
+    * for every Recipe; it must hold at least length() IDs. Names
+    * come from the dictionary, and formatting them is up to the
+    * caller (the GUI lists them one per line). This ignores
+    * amounts: an ingredient in given counts however much the 
+    * recipe needs.
     * 
-    * @param String i is the ingredient being added
+    * @param BitSet given is the set of available ingredient IDs
+    * @param int[] out receives the available ingredient IDs
     **************************************************************/
-  public void addIngredient(String i) {
-   if (!ingredientList.contains(i)) ingredientList.add(i);
+  public int getAvailable(BitSet given, int[] out) {
+    int count = 0;
+    for (int p = start; p < end; p++) {
+      int id = store.idAt(p);
+      if (given.get(id)) out[count++] = id;
+    }
+    return count;
   }
   
   /****************************************************************
-    * getAvailable takes in a LinkedList of given ingredients
-    * and returns which of those ingredients are available in the
-    * Recipe. This method loops through given and adds the ingredients
-    * that are containd in ingredientList to a String result, which is
-    * eventually returned.
+    * getAvailable writes the IDs of the Recipe's ingredients that 
+    * there is enough of into out, smallest first, and returns how
+    * many it wrote. have gives how much of each ingredient there 
+    * is by ingredient ID, in the catalog's unit for it, with 0 for
+    * none and positive infinity for enough of anything (see
+    * FridgeScores.getAmounts). An ingredient counts if there is 
+    * some of it and at least as much as the Recipe needs, the 
+    * same test FridgeScores scores by. out must hold at least
+    * length() IDs.
     * 
-    * This method will be used later in our GUI to display
-    * which items in the user's fridge can be used in a given
-    * recipe. 
-    * 
-    * @param LinkedList<String> given is the list of given ingredients
+    * @param float[] have holds how much there is of each ingredient
+    * @param int[] out receives the available ingredient IDs
     **************************************************************/
-  public String getAvailable(LinkedList<String> given) {
-    String result = ""; 
-    
-    for(int i = 0; i < given.size(); i++) {
-      if(this.contains(given.get(i))) { //if element is in ingredientList
-        result += " " + given.get(i) + "\n"; //add element to string result
-      }
+  public int getAvailable(float[] have, int[] out) {
+    int count = 0;
+    for (int p = start; p < end; p++) {
+      if (isEnough(p, have)) out[count++] = store.idAt(p);
     }
-    
-    return result;
+    return count;
   }
   
   /****************************************************************
-    * getNeed takes in a LinkedList of given ingredients and returns 
-    * which of those ingredients are not available and needed in the
-    * Recipe. This method creates a temporary LinkedList<String>, 
-    * created by cloning ingredientList, in order to not destroy
-    * ingredientList when traversing through it. getNeed then
-    * loops through tempIngredients, popping off each element, and
-    * adds an ingredient to the String result if it is not contained
-    * in the given list (that is, if the ingredient is in this Recipe's
-    * ingredientList and not in the given list).
+    * getNeed writes the IDs of the Recipe's ingredients that are
+    * not in given, that is, the ones the user still needs, into 
+    * out, smallest first, and returns how many it wrote. Like 
+    * getAvailable it allocates nothing and ignores amounts, and 
+    * out must hold at least length() IDs.
     * 
-    * This method will be used later in our GUI to display
-    * which items in the user's fridge are still needed in a given
-    * recipe. 
+    * @param BitSet given is the set of available ingredient IDs
+    * @param int[] out receives the needed ingredient IDs
+    **************************************************************/
+  public int getNeed(BitSet given, int[] out) {
+    int count = 0;
+    for (int p = start; p < end; p++) {
+      int id = store.idAt(p);
+      if (!given.get(id)) out[count++] = id;
+    }
+    return count;
+  }
+  
+  /****************************************************************
+    * getNeed writes the IDs of the Recipe's ingredients that there
+    * is not enough of, as getAvailable with amounts decides, into
+    * out, smallest first, and returns how many it wrote. out must
+    * hold at least length() IDs.
     * 
-    * @param LinkedList<String> given is the list of given ingredients
+    * @param float[] have holds how much there is of each ingredient
+    * @param int[] out receives the needed ingredient IDs
     **************************************************************/
-  public String getNeed(LinkedList<String> given) {
-    String result = "";
-    
-    LinkedList<String> tempIngredients = (LinkedList<String>)/*cast*/ingredientList.clone();
-    
-    while (!tempIngredients.isEmpty()) { 
-      String i = tempIngredients.remove();
-      if (!given.contains(i)) //if this ingredient is not in the given list
-        result += " " + i + "\n"; //add the element to result
+  public int getNeed(float[] have, int[] out) {
+    int count = 0;
+    for (int p = start; p < end; p++) {
+      if (!isEnough(p, have)) out[count++] = store.idAt(p);
     }
-    
-    return result;
+    return count;
   }
   
   /****************************************************************
-    * contains does the same duty as the contains method for 
-    * LinkedList. It takes in a search String and returns whether
-    * the ingredientList contains that search.
+    * isEnough returns whether have holds enough of the ingredient
+    * at position p of the store for this Recipe.
+    **************************************************************/
+  private boolean isEnough(int p, float[] have) {
+    int id = store.idAt(p);
+    float amount = (id < have.length) ? have[id] : 0;
+    return amount > 0 && store.amountAt(p) <= amount;
+  }
+  
+  /****************************************************************
+    * contains takes in a search String and returns whether the
+    * Recipe contains that ingredient. The name is turned into its
+    * ID once, and the ID is then looked up with containsId.
     * 
     * @param String search is the ingredient being searched for
     **************************************************************/
   public boolean contains(String search) {
-    return ingredientList.contains(search);
+    int id = dictionary.idOf(search);
+    return id >= 0 && containsId(id);
+  }
+  
+  /****************************************************************
+    * containsId returns whether the Recipe contains the ingredient
+    * with the given dictionary ID.
+    * 
+    * @param int id is the ID of the ingredient being searched for
+    **************************************************************/
+  public boolean containsId(int id) {
+    int low = start, high = end - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int found = store.idAt(mid);
+      if (found < id) low = mid + 1;
+      else if (found > id) high = mid - 1;
+      else return true;
+    }
+    return false;
   }
   
-   /****************************************************************
+  /****************************************************************
+    * countAvailable returns how many of the Recipe's ingredients
+    * are set in given, a fridge represented as a BitSet over 
+    * dictionary IDs. Each ingredient costs a single bit test.
+    * 
+    * @param BitSet given is the set of available ingredient IDs
+    **************************************************************/
+  public int countAvailable(BitSet given) {
+    int count = 0;
+    for (int p = start; p < end; p++) {
+      if (given.get(store.idAt(p))) count++;
+    }
+    return count;
+  }
+  
+  /****************************************************************
     * compareTo implements Comparable and compares two Recipes
-    * based on their scores. 
+    * based on their IDs, that is, their order in the catalog. 
+    * Ranking by score is done by FridgeScores.
     * 
     * @param Recipe other recipe to be compared
     **************************************************************/
   public int compareTo(Recipe other) {
-    if (this.score > other.score) return -1;
-    else if (this.score < other.score) return 1;
-    else return 0;
+    return Integer.compare(this.id, other.id);
+  }
+  
+  /****************************************************************
+    * equals returns whether other is a view of the same recipe of
+    * the same catalog.
+    * 
+    * @param Object other is the object being compared
+    **************************************************************/
+  public boolean equals(Object other) {
+    return other instanceof Recipe && ((Recipe) other).id == id 
+      && ((Recipe) other).store == store;
   }
   
   /****************************************************************
-    * incrementScore increases the score by one. This method
-    * will be used in the User class. 
+    * hashCode returns the Recipe's ID, consistent with equals.
     **************************************************************/
-  public void incrementScore() {
-   score++; 
+  public int hashCode() {
+    return id;
+  }
+  
+  /****************************************************************
+    * getId returns the Recipe's ID in its catalog
+    **************************************************************/
+  public int getId() {
+    return id; 
   }
   
   /****************************************************************
     * getName returns the Recipe's name
     **************************************************************/
   public String getName() {
-    return name; 
+    return store.name(id); 
   }
   
   /****************************************************************
-    * getScore returns the Recipe's score
+    * getIngredients returns a new LinkedList of the Recipe's 
+    * ingredient names, in dictionary ID order.
     **************************************************************/
-  public int getScore() {
-    return score; 
+  public LinkedList<String> getIngredients() {
+    LinkedList<String> result = new LinkedList<String>();
+    for (int p = start; p < end; p++) result.add(dictionary.nameOf(store.idAt(p)));
+    return result; 
   }
   
   /****************************************************************
-    * getIngredients returns the ingredientList
+    * getIngredientIds returns a copy of the Recipe's sorted 
+    * ingredient IDs.
     **************************************************************/
-  public LinkedList<String> getIngredients() {
-    return ingredientList; 
+  public int[] getIngredientIds() {
+    int[] ids = new int[end - start];
+    for (int p = start; p < end; p++) ids[p - start] = store.idAt(p);
+    return ids;
   }
   
   /****************************************************************
-    * length returns the Recipe's length, represented by the size
-    * of its ingredientList.
+    * ingredientAt returns the i-th smallest ingredient ID of the
+    * Recipe, read straight from the store.
+    * 
+    * @param int i is from 0 to length() - 1
+    **************************************************************/
+  public int ingredientAt(int i) {
+    return store.idAt(start + i);
+  }
+  
+  /****************************************************************
+    * amountAt returns how much of its i-th smallest ingredient the
+    * Recipe needs, in the catalog's unit for that ingredient (see
+    * RecipeCatalog.unitOf), or 0 if it gives no amount.
+    * 
+    * @param int i is from 0 to length() - 1
+    **************************************************************/
+  public float amountAt(int i) {
+    return store.amountAt(start + i);
+  }
+  
+  /****************************************************************
+    * length returns the Recipe's length, represented by the number
+    * of its ingredients.
     **************************************************************/
   public int length() {
-    return ingredientList.size();
+    return end - start;
   }
   
   /****************************************************************
@@ -166,56 +284,71 @@ public class Recipe implements Comparable<Recipe> {
     * including its name, length, and ingredient list.
     **************************************************************/
   public String toString() {
-    String result = name + " has a score of " + getScore() + 
-      " and contains " + length() + " ingredients: " 
-      + ingredientList.toString();
+    String result = getName() + " contains " + length() + " ingredients: " 
+      + getIngredients().toString();
     return result;
   }
   
   
   public static void main(String[] args) {
-    //testing constructor
-    System.out.println("Creating: Cake");
-    Recipe test = new Recipe("Cake");
-    
-    //testing addIngredient
-    System.out.println("\nTesting addIngredient");
-    System.out.println("Adding: flour, egg, milk");
-    test.addIngredient("flour");
-    test.addIngredient("egg");
-    test.addIngredient("milk");
-    System.out.println("Adding duplicate");
-    test.addIngredient("flour");
+    //testing construction through a catalog
+    System.out.println("Creating: Cake, Cookie");
+    RecipeCatalog.Builder builder = new RecipeCatalog.Builder();
+    System.out.println("Adding: flour, egg, milk, and a duplicate flour");
+    builder.addRecipe("Cake", Arrays.asList("flour", "egg", "milk", "flour"));
+    builder.addRecipe("Cookie", Arrays.asList("flour", "sugar"));
+    RecipeCatalog catalog = builder.build();
+    Recipe test = catalog.get(0);
     System.out.println("Expected: flour, egg, milk\tActual: " + test);
     
     //testing getAvailable and getNeed
-    //creating a random LinkedList for testing
     System.out.println("\nTesting getAvailable and getNeed");
-    System.out.println("Creating ingredient list: flour, junk, cats");
-    LinkedList<String> x = new LinkedList<String>();
-    x.add("flour");
-    x.add("junk");
-    x.add("cats");
-    System.out.println("Expected: flour\tActual: " + test.getAvailable(x));
-    System.out.println("Expected: egg, milk\tActual: " + test.getNeed(x));
+    System.out.println("Creating fridge: flour, sugar");
+    BitSet given = new BitSet();
+    given.set(catalog.getDictionary().idOf("flour"));
+    given.set(catalog.getDictionary().idOf("sugar"));
+    int[] buffer = new int[test.length()];
+    int count = test.getAvailable(given, buffer);
+    System.out.println("Expected: 1 flour\tActual: " + count + " " 
+                         + catalog.getDictionary().nameOf(buffer[0]));
+    count = test.getNeed(given, buffer);
+    System.out.println("Expected: 2 egg milk\tActual: " + count + " " 
+                         + catalog.getDictionary().nameOf(buffer[0]) + " " 
+                         + catalog.getDictionary().nameOf(buffer[1]));
+    
+    //testing getAvailable and getNeed with amounts
+    System.out.println("\nTesting getAvailable and getNeed with amounts");
+    RecipeCatalog.Builder measured = new RecipeCatalog.Builder();
+    int egg = measured.getDictionary().intern("egg"), milk = measured.getDictionary().intern("milk");
+    measured.addRecipe("Custard", new int[] {egg, milk}, 
+                       new Quantity[] {Quantity.parse("6"), Quantity.parse("2 cups")}, 2);
+    Recipe custard = measured.build().get(0);
+    float[] have = new float[2];
+    have[egg] = 1;
+    have[milk] = Float.POSITIVE_INFINITY;
+    count = custard.getAvailable(have, buffer);
+    System.out.println("Expected: 1 milk\tActual: " + count + " " 
+                         + measured.getDictionary().nameOf(buffer[0]));
+    count = custard.getNeed(have, buffer);
+    System.out.println("Expected: 1 egg\tActual: " + count + " " 
+                         + measured.getDictionary().nameOf(buffer[0]));
     
     //testing contains
     System.out.println("\nTesting contains");
     System.out.println("Expected: true\tActual: " + test.contains("flour"));
     System.out.println("Expected: false\tActual: " + test.contains("false"));
-
-    //testing incrementScore
-    System.out.println("\nTesting incrementscore");
-    System.out.println("Incrementing score twice");
-    test.incrementScore();
-    test.incrementScore();
-    System.out.println("Expected score: 2\tActual: " + test);
+    System.out.println("Expected: false\tActual: " + test.contains("sugar"));
+    
+    //testing countAvailable
+    System.out.println("\nTesting countAvailable");
+    BitSet fridge = new BitSet();
+    fridge.set(test.dictionary.idOf("flour"));
+    fridge.set(test.dictionary.idOf("milk"));
+    System.out.println("Expected: 2\tActual: " + test.countAvailable(fridge));
     
     //testing compareTo
     System.out.println("\nTesting compareTo");
-    System.out.println("Creating a new Recipe of score 1");
-    Recipe comp = new Recipe("Cookie");
-    comp.incrementScore();
+    Recipe comp = catalog.get(1);
     System.out.println("Expected: -1\tActual: " + test.compareTo(comp));
     System.out.println("Expected: 1\tActual: " + comp.compareTo(test));
   }
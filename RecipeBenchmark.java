@@ -0,0 +1,240 @@
+/*****************************************************************
+  * FILE NAME: RecipeBenchmark.java
+  * WHO: Jenny Wang and Lily Xie
+  * WHEN: October 18, 2026
+  *
+  * WHAT: RecipeBenchmark times the hot paths of Recipe and User on
+  * synthetic catalogs, so that every performance change can be
+  * measured before and after. For each catalog size it writes a
+  * recipe file with generate, and for each fridge size it fills a
+  * User with random ingredients, then reports the average time
+  * per call of:
+  *  - loading the catalog (what readRecipes used to do), and how
+  *    much memory it takes on and off the heap
+  *  - calculateScores, topRecipes(10) and getRecipeNames
+  *  - findInList on a random recipe name
+  *  - counting the recipes makeable with at most 2 missing
+  *  - Recipe.getAvailable and Recipe.getNeed on a random recipe
+  *  - BatchScorer on 10000 random fridges, also given in fridges
+  *    per second
+  * and then calculateScores again on the same recipes with amounts
+  * in cups, for a fridge that has amounts too.
+  *
+  * Each benchmark is warmed up before it is measured, and results
+  * are fed to a sink so the JIT cannot drop the work. Run it with
+  * a large heap, for example:
+  *   java -Xmx4g RecipeBenchmark 10000,100000 5,20
+  * where the arguments are catalog sizes and fridge sizes. Add
+  * -Drecipe.offHeap=true to benchmark off-heap catalogs.
+  ****************************************************************/
+
+import java.util.*;
+import java.io.*;
+
+public class RecipeBenchmark {
+
+  private static final int MAX_INGREDIENTS = 12; //per generated recipe
+  private static final long WARMUP_NANOS = 500000000L; //0.5 s
+  private static final long MEASURE_NANOS = 1000000000L; //1 s
+  private static final int BATCH = 10000; //fridges per BatchScorer run
+
+  private static int sink; //consumes results so they are not optimized away
+
+  /****************************************************************
+    * Benchmark is one operation being timed.
+    **************************************************************/
+  interface Benchmark {
+    Object run();
+  }
+
+  /****************************************************************
+    * generate writes a recipe file of the given number of recipes
+    * in the usual '.'/'#' format. Each recipe has 3 to 12
+    * ingredients out of a vocabulary of about a tenth as many
+    * names as recipes (at least 100), picked with a skew so that
+    * some ingredients are common and most are rare, like real
+    * recipes.
+    *
+    * @param File file is the file being written
+    * @param int recipes is the number of recipes
+    * @param long seed seeds the random choices
+    **************************************************************/
+  public static void generate(File file, int recipes, long seed) throws IOException {
+    generate(file, recipes, seed, false);
+  }
+
+  /****************************************************************
+    * generate writes a recipe file like the method above, giving
+    * every ingredient an amount of 1 to 4 cups if amounts is true.
+    **************************************************************/
+  public static void generate(File file, int recipes, long seed, boolean amounts) throws IOException {
+    Random random = new Random(seed);
+    int vocabulary = vocabularySize(recipes);
+
+    PrintWriter out = new PrintWriter(new BufferedWriter(new FileWriter(file), 1 << 16));
+    try {
+      for (int r = 0; r < recipes; r++) {
+        out.print("Recipe " + r + "\n");
+        int length = 3 + random.nextInt(MAX_INGREDIENTS - 2);
+        for (int i = 0; i < length; i++) {
+          out.print(".\n" + ingredientName(skewed(random, vocabulary)));
+          out.print(amounts ? " | " + (1 + random.nextInt(4)) + " cups\n" : "\n");
+        }
+        out.print("#\n");
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  /****************************************************************
+    * randomFridge returns size random ingredient names, drawn with
+    * the same skew as generate.
+    **************************************************************/
+  public static List<String> randomFridge(Random random, int recipes, int size) {
+    int vocabulary = vocabularySize(recipes);
+    ArrayList<String> fridge = new ArrayList<String>();
+    for (int i = 0; i < size; i++) fridge.add(ingredientName(skewed(random, vocabulary)));
+    return fridge;
+  }
+
+  private static int vocabularySize(int recipes) {
+    return Math.max(100, recipes / 10);
+  }
+
+  private static String ingredientName(int i) {
+    return "Ingredient " + i;
+  }
+
+  /****************************************************************
+    * skewed returns a number from 0 to n - 1 where small numbers
+    * are much more likely than large ones.
+    **************************************************************/
+  private static int skewed(Random random, int n) {
+    double u = random.nextDouble();
+    return (int) (n * u * u * u);
+  }
+
+  /****************************************************************
+    * measure runs benchmark repeatedly for a warm-up period, then
+    * for a measured period, and prints and returns the average 
+    * time per call in microseconds.
+    **************************************************************/
+  static double measure(String name, Benchmark benchmark) {
+    long end = System.nanoTime() + WARMUP_NANOS;
+    while (System.nanoTime() < end) consume(benchmark.run());
+
+    long calls = 0;
+    long start = System.nanoTime();
+    long elapsed;
+    do {
+      consume(benchmark.run());
+      calls++;
+      elapsed = System.nanoTime() - start;
+    } while (elapsed < MEASURE_NANOS);
+
+    double micros = elapsed / 1000.0 / calls;
+    System.out.printf("  %-28s %14.1f us/op %10d ops%n", name, micros, calls);
+    return micros;
+  }
+
+  private static void consume(Object result) {
+    sink += (result == null) ? 0 : System.identityHashCode(result);
+  }
+
+  /****************************************************************
+    * heapUsed returns the bytes in use on the heap after asking
+    * for a full garbage collection.
+    **************************************************************/
+  private static long heapUsed() {
+    Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < 3; i++) System.gc();
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private static int[] parseSizes(String arg) {
+    String[] parts = arg.split(",");
+    int[] sizes = new int[parts.length];
+    for (int i = 0; i < parts.length; i++) sizes[i] = Integer.parseInt(parts[i].trim());
+    return sizes;
+  }
+
+
+  public static void main(String[] args) throws IOException {
+    int[] catalogSizes = parseSizes(args.length > 0 ? args[0] : "10000,100000");
+    int[] fridgeSizes = parseSizes(args.length > 1 ? args[1] : "5,20");
+
+    for (int recipes : catalogSizes) {
+      final File file = File.createTempFile("bench-recipes", ".txt");
+      file.deleteOnExit();
+      generate(file, recipes, 42);
+      System.out.println("Catalog of " + recipes + " recipes (" + file.length() / 1024 + " KB)");
+
+      measure("load", new Benchmark() {
+        public Object run() { return RecipeCatalog.load(file.getPath()); }
+      });
+      long before = heapUsed();
+      final RecipeCatalog catalog = RecipeCatalog.load(file.getPath());
+      System.out.printf("  %-28s %14.1f MB heap %7.1f MB off-heap%n", "catalog memory",
+                        (heapUsed() - before) / 1048576.0, catalog.offHeapBytes() / 1048576.0);
+
+      for (int fridgeSize : fridgeSizes) {
+        System.out.println(" fridge of " + fridgeSize + " items");
+        final Random random = new Random(7);
+        final User user = new User("BENCH", catalog);
+        for (String item : randomFridge(random, recipes, fridgeSize)) user.addContent(item);
+
+        measure("calculateScores", new Benchmark() {
+          public Object run() { user.calculateScores(); return user; }
+        });
+        measure("topRecipes(10)", new Benchmark() {
+          public Object run() { return user.topRecipes(10); }
+        });
+        measure("getRecipeNames", new Benchmark() {
+          public Object run() { return user.getRecipeNames(); }
+        });
+        measure("findInList", new Benchmark() {
+          public Object run() { return user.findInList("Recipe " + random.nextInt(catalog.size())); }
+        });
+        measure("makeable(2).count", new Benchmark() {
+          public Object run() { return user.makeable(2).count(); }
+        });
+        final BitSet fridge = user.getFridge();
+        final int[] buffer = new int[MAX_INGREDIENTS];
+        measure("Recipe.getAvailable", new Benchmark() {
+          public Object run() { return catalog.get(random.nextInt(catalog.size())).getAvailable(fridge, buffer); }
+        });
+        measure("Recipe.getNeed", new Benchmark() {
+          public Object run() { return catalog.get(random.nextInt(catalog.size())).getNeed(fridge, buffer); }
+        });
+
+        final int[][] batch = new int[BATCH][];
+        for (int i = 0; i < BATCH; i++) {
+          batch[i] = BatchScorer.toIds(randomFridge(random, recipes, fridgeSize), catalog.getDictionary());
+        }
+        final BatchScorer scorer = new BatchScorer(catalog, ScoringStrategy.MATCH_COUNT, 10);
+        double micros = measure("BatchScorer(" + BATCH + ")", new Benchmark() {
+          public Object run() { return scorer.score(batch); }
+        });
+        System.out.printf("  %-28s %14.0f fridges/s%n", "", BATCH / micros * 1e6);
+      }
+
+      generate(file, recipes, 42, true);
+      final RecipeCatalog measured = RecipeCatalog.load(file.getPath());
+      System.out.println(" with amounts");
+      for (int fridgeSize : fridgeSizes) {
+        System.out.println(" fridge of " + fridgeSize + " items");
+        Random random = new Random(7);
+        final User user = new User("BENCH", measured);
+        for (String item : randomFridge(random, recipes, fridgeSize)) {
+          user.addContent(item, (1 + random.nextInt(4)) + " cups");
+        }
+        measure("calculateScores", new Benchmark() {
+          public Object run() { user.calculateScores(); return user; }
+        });
+      }
+      file.delete();
+    }
+    System.out.println("(sink " + sink + ")");
+  }
+}
@@ -0,0 +1,907 @@
+/*****************************************************************
+  * FILE NAME: RecipeCatalog.java
+  * WHO: Jenny Wang and Lily Xie
+  * WHEN: October 18, 2026
+  *
+  * WHAT: RecipeCatalog is the immutable collection of recipes read
+  * from a recipe file, together with the IngredientDictionary they
+  * share and an index from every ingredient ID to the IDs of the
+  * recipes that use it. A recipe's ID is its position in the file.
+  *
+  * A catalog never changes once it is built and holds no scores,
+  * so one instance can be shared by any number of Users and read
+  * from many threads at once. Scores live in per-user FridgeScores.
+  * This class contains methods to:
+  *  - Load a catalog from a file, or get the shared copy of it
+  *  - Build a catalog recipe by recipe with a Builder
+  *  - Get recipes by ID or name and the recipes that use an
+  *    ingredient
+  *  - Stream the recipes that can be made with few missing
+  *    ingredients
+  *
+  * The recipes themselves are kept in a RecipeStore, either on the
+  * heap or, for very large catalogs, off the heap (see
+  * Builder.setOffHeap), and get hands out Recipe views of it.
+  ****************************************************************/
+
+import java.util.*;
+import java.util.stream.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.io.*;
+
+public class RecipeCatalog {
+
+  //catalogs already loaded by shared, keyed by file name
+  private static HashMap<String, RecipeCatalog> sharedCatalogs =
+    new HashMap<String, RecipeCatalog>();
+  //how many catalogs have been built, see getGeneration
+  private static final AtomicLong generations = new AtomicLong();
+
+  private final long generation = generations.incrementAndGet();
+
+  private final IngredientDictionary dictionary;
+  private final RecipeStore store; //names and ingredient IDs by recipe ID
+  private final int[][] postings; //ingredient ID -> sorted recipe IDs
+  private final float[][] postingAmounts; //aligned with postings; null without amounts
+  private final Quantity.Dimension[] units; //ingredient ID -> unit of its amounts, or null
+  //weights are whole multiples of this, see weight
+  private static final double WEIGHT_UNIT = 0x1p-32;
+
+  private final double[] weights; //ingredient ID -> rarity weight
+  private final double[] totalWeights; //recipe ID -> summed weights
+  private final int[] byLength; //recipe IDs, shortest recipes first
+  private final int[] lengthEnds; //lengthEnds[n] = recipes with at most n ingredients
+  private volatile RecipeNameSearch nameSearch; //built on first use
+
+  /****************************************************************
+    * Constructor is private; catalogs are made by a Builder. It
+    * freezes the dictionary and builds the posting lists in two
+    * passes: one to count how many recipes use each ingredient,
+    * one to fill arrays of exactly that size. It then works out
+    * the primitive arrays that ScoringStrategies read, and sorts 
+    * the recipe IDs by length for makeable. The store indexes the
+    * recipes by name itself. If the recipes have amounts, they are
+    * copied next to the posting lists, so that a scoring loop over
+    * the recipes using an ingredient reads how much each needs
+    * from the same position.
+    **************************************************************/
+  private RecipeCatalog(IngredientDictionary dictionary, RecipeStore store,
+                        Quantity.Dimension[] units) {
+    dictionary.freeze();
+    this.dictionary = dictionary;
+    this.store = store;
+    this.units = units;
+    int size = store.size();
+    int idCount = store.start(size);
+
+    int[] counts = new int[dictionary.size()];
+    for (int p = 0; p < idCount; p++) counts[store.idAt(p)]++;
+
+    postings = new int[counts.length][];
+    for (int id = 0; id < counts.length; id++) {
+      postings[id] = new int[counts[id]];
+      counts[id] = 0; //reused as the fill position
+    }
+    postingAmounts = store.hasAmounts() ? new float[counts.length][] : null;
+    for (int r = 0; r < size; r++) {
+      for (int p = store.start(r); p < store.start(r + 1); p++) {
+        int id = store.idAt(p);
+        float amount = store.amountAt(p);
+        if (amount > 0) {
+          //only ingredients with amounts get a column
+          if (postingAmounts[id] == null) postingAmounts[id] = new float[postings[id].length];
+          postingAmounts[id][counts[id]] = amount;
+        }
+        postings[id][counts[id]++] = r;
+      }
+    }
+
+    //inverse document frequency: rare ingredients weigh more
+    weights = new double[postings.length];
+    for (int id = 0; id < weights.length; id++) {
+      double weight = Math.log((1.0 + size) / (1.0 + postings[id].length)) + 1.0;
+      weights[id] = Math.rint(weight / WEIGHT_UNIT) * WEIGHT_UNIT;
+    }
+
+    totalWeights = new double[size];
+    int maxLength = 0;
+    for (int r = 0; r < size; r++) {
+      maxLength = Math.max(maxLength, store.length(r));
+      for (int p = store.start(r); p < store.start(r + 1); p++) totalWeights[r] += weights[store.idAt(p)];
+    }
+
+    //counting sort of the recipe IDs by length
+    lengthEnds = new int[maxLength + 1];
+    for (int r = 0; r < size; r++) lengthEnds[store.length(r)]++;
+    for (int n = 1; n <= maxLength; n++) lengthEnds[n] += lengthEnds[n - 1];
+    byLength = new int[size];
+    int[] fill = new int[maxLength + 1];
+    for (int n = 1; n <= maxLength; n++) fill[n] = lengthEnds[n - 1];
+    for (int r = 0; r < size; r++) byLength[fill[store.length(r)]++] = r;
+  }
+
+  /****************************************************************
+    * shared returns the catalog for fileName, loading it only the
+    * first time any caller asks for it. Every User created from
+    * the same file therefore reads the same catalog.
+    *
+    * @param String fileName is the name of the recipe file
+    **************************************************************/
+  public static synchronized RecipeCatalog shared(String fileName) {
+    RecipeCatalog catalog = sharedCatalogs.get(fileName);
+    if (catalog == null) {
+      catalog = load(fileName);
+      sharedCatalogs.put(fileName, catalog);
+    }
+    return catalog;
+  }
+
+  /****************************************************************
+    * load reads a new catalog from a recipe .txt file using
+    * memory-mapped RecipeFileParsers (see RecipeFileParser for the
+    * format). Large files are parsed in parallel chunks by a
+    * ParallelRecipeLoader. Files compiled by BinaryCatalog are
+    * recognized by their first bytes and read without parsing.
+    *
+    * This method catches a filenotfound exception, prints out
+    * an error message and returns an empty catalog. Other read 
+    * errors are reported the same way.
+    *
+    * @param String fileName is the name of the file being read
+    **************************************************************/
+  public static RecipeCatalog load(String fileName) {
+    try {
+      return read(fileName);
+    }catch (FileNotFoundException e) {
+      System.out.println("Inputed recipe file not found");
+    }catch (IOException e) {
+      System.out.println("Could not read recipe file: " + e.getMessage());
+    }
+    return new Builder().build();
+  }
+
+  /****************************************************************
+    * read loads a new catalog like load, but lets read errors
+    * through, so a caller such as ReloadingCatalog can keep what
+    * it has when a file cannot be read. Successful loads are timed
+    * by RecipeMetrics.LOAD.
+    *
+    * @param String fileName is the name of the file being read
+    **************************************************************/
+  public static RecipeCatalog read(String fileName) throws IOException {
+    long start = RecipeMetrics.LOAD.start();
+    RecipeCatalog catalog = BinaryCatalog.isBinary(fileName) ? BinaryCatalog.read(fileName)
+                                                             : ParallelRecipeLoader.load(fileName);
+    RecipeMetrics.LOAD.stop(start);
+    RecipeMetrics.catalogLoaded(catalog);
+    return catalog;
+  }
+
+  /****************************************************************
+    * size returns the number of recipes in the catalog.
+    **************************************************************/
+  public int size() {
+    return store.size();
+  }
+
+  /****************************************************************
+    * get returns a view of the recipe with the given ID. Views are
+    * made on each call and cost a few fields, so callers need not
+    * hold on to them.
+    *
+    * @param int id is the recipe ID, from 0 to size() - 1
+    **************************************************************/
+  public Recipe get(int id) {
+    if (id < 0 || id >= store.size()) throw new IndexOutOfBoundsException("Recipe ID " + id);
+    return new Recipe(id, store, dictionary);
+  }
+
+  /****************************************************************
+    * isOffHeap returns whether the recipes are stored outside the
+    * Java heap.
+    **************************************************************/
+  public boolean isOffHeap() {
+    return store instanceof RecipeStore.OffHeap;
+  }
+
+  /****************************************************************
+    * offHeapBytes returns how many bytes of recipes are stored
+    * outside the Java heap, 0 for an on-heap catalog.
+    **************************************************************/
+  public long offHeapBytes() {
+    return store.offHeapBytes();
+  }
+
+  /****************************************************************
+    * find returns the recipe with the given name in constant time,
+    * or null if there is none. If several recipes share the name,
+    * the first one in the file is returned.
+    *
+    * @param String name is the name of the recipe
+    **************************************************************/
+  public Recipe find(String name) {
+    int id = store.find(name);
+    return (id < 0) ? null : new Recipe(id, store, dictionary);
+  }
+
+  /****************************************************************
+    * getNameSearch returns the prefix and typo-tolerant search over
+    * the recipe names. It is built the first time it is asked for
+    * rather than in the constructor, so loads that never search
+    * (benchmarks, batch jobs) do not pay for the trie.
+    **************************************************************/
+  public RecipeNameSearch getNameSearch() {
+    RecipeNameSearch search = nameSearch;
+    if (search == null) {
+      synchronized (this) {
+        search = nameSearch;
+        if (search == null) {
+          search = new RecipeNameSearch(this);
+          nameSearch = search;
+        }
+      }
+    }
+    return search;
+  }
+
+  /****************************************************************
+    * getGeneration returns a number that is larger for every
+    * catalog built after this one, so a catalog loaded by a reload
+    * is always newer than the one it replaces.
+    **************************************************************/
+  public long getGeneration() {
+    return generation;
+  }
+
+  /****************************************************************
+    * hasNameSearch returns true if the name search has already been
+    * built, so that getNameSearch will not have to build it.
+    **************************************************************/
+  public boolean hasNameSearch() {
+    return nameSearch != null;
+  }
+
+  /****************************************************************
+    * getDictionary returns the (frozen) ingredient dictionary.
+    **************************************************************/
+  public IngredientDictionary getDictionary() {
+    return dictionary;
+  }
+
+  /****************************************************************
+    * frequency returns how many recipes use the ingredient with
+    * the given ID.
+    *
+    * @param int ingredientId is the ingredient's dictionary ID
+    **************************************************************/
+  public int frequency(int ingredientId) {
+    return postings[ingredientId].length;
+  }
+
+  /****************************************************************
+    * recipesWith returns the sorted IDs of the recipes that use
+    * the ingredient with the given ID. The array is the catalog's
+    * own, so that scoring loops can read it directly; callers
+    * must not modify it.
+    *
+    * @param int ingredientId is the ingredient's dictionary ID
+    **************************************************************/
+  int[] recipesWith(int ingredientId) {
+    return postings[ingredientId];
+  }
+
+  /****************************************************************
+    * amountsWith returns how much of an ingredient each recipe of
+    * recipesWith(ingredientId) needs, at the same positions and in
+    * the ingredient's unit, or null if no recipe gives an amount
+    * of it. 0 means no amount. Callers must not modify the array.
+    *
+    * @param int ingredientId is the ingredient's dictionary ID
+    **************************************************************/
+  float[] amountsWith(int ingredientId) {
+    return (postingAmounts == null) ? null : postingAmounts[ingredientId];
+  }
+
+  /****************************************************************
+    * hasAmounts returns whether any recipe gives amounts.
+    **************************************************************/
+  public boolean hasAmounts() {
+    return units != null;
+  }
+
+  /****************************************************************
+    * unitOf returns the dimension the catalog keeps amounts of an
+    * ingredient in (items, ml or g), or NONE if it has none.
+    *
+    * @param int ingredientId is the ingredient's dictionary ID
+    **************************************************************/
+  public Quantity.Dimension unitOf(int ingredientId) {
+    return (units == null) ? Quantity.Dimension.NONE : units[ingredientId];
+  }
+
+  /****************************************************************
+    * amountOf converts a quantity of an ingredient someone has into
+    * the catalog's unit for it. If the quantity is unknown, or of
+    * another dimension than the recipes use (cups of something
+    * recipes weigh), there is no telling, so it is taken to be 
+    * enough for any recipe: positive infinity.
+    *
+    * @param int ingredientId is the ingredient's dictionary ID
+    * @param Quantity quantity is how much of it there is
+    **************************************************************/
+  public float amountOf(int ingredientId, Quantity quantity) {
+    Quantity.Dimension unit = unitOf(ingredientId);
+    if (unit == Quantity.Dimension.NONE || quantity.getDimension() != unit) return Float.POSITIVE_INFINITY;
+    return (float) quantity.getAmount();
+  }
+
+  /****************************************************************
+    * score returns the score of one recipe for a fridge under
+    * strategy, from bit tests of the recipe's ingredients. It gives
+    * the same number as FridgeScores without keeping any arrays,
+    * for callers that only score some recipes, or score from a 
+    * snapshot of a fridge on another thread. This ignores amounts,
+    * like a FridgeScores whose ingredients were added without
+    * them; the score below takes them into account.
+    *
+    * @param int recipeId is the recipe's ID
+    * @param BitSet fridge holds the IDs of the available ingredients
+    * @param ScoringStrategy strategy scores the recipe
+    **************************************************************/
+  public double score(int recipeId, BitSet fridge, ScoringStrategy strategy) {
+    int matched = 0;
+    double matchedWeight = 0;
+    for (int p = store.start(recipeId); p < store.start(recipeId + 1); p++) {
+      int id = store.idAt(p);
+      if (fridge.get(id)) {
+        matched++;
+        matchedWeight += weights[id];
+      }
+    }
+    return strategy.score(store.length(recipeId), matched, matchedWeight, totalWeights[recipeId]);
+  }
+
+  /****************************************************************
+    * score returns the score of one recipe for a fridge of amounts
+    * under strategy, giving the same number as FridgeScores with
+    * those amounts. An ingredient is matched if there is some of
+    * it and at least as much as the recipe needs (see
+    * Recipe.getAvailable).
+    *
+    * @param int recipeId is the recipe's ID
+    * @param float[] have holds how much there is of each ingredient,
+    * by ID, as from FridgeScores.getAmounts
+    * @param ScoringStrategy strategy scores the recipe
+    **************************************************************/
+  public double score(int recipeId, float[] have, ScoringStrategy strategy) {
+    int matched = 0;
+    double matchedWeight = 0;
+    for (int p = store.start(recipeId); p < store.start(recipeId + 1); p++) {
+      if (isEnough(p, have)) {
+        matched++;
+        matchedWeight += weights[store.idAt(p)];
+      }
+    }
+    return strategy.score(store.length(recipeId), matched, matchedWeight, totalWeights[recipeId]);
+  }
+
+  /****************************************************************
+    * isEnough returns whether have holds enough of the ingredient
+    * at position p of the store for its recipe.
+    **************************************************************/
+  private boolean isEnough(int p, float[] have) {
+    int id = store.idAt(p);
+    float amount = (id < have.length) ? have[id] : 0;
+    return amount > 0 && store.amountAt(p) <= amount;
+  }
+
+  /****************************************************************
+    * makeable returns the IDs of every recipe missing at most
+    * maxMissing of its ingredients from fridge, as a lazy stream,
+    * so callers can stop early or stream results out without
+    * holding them all. The recipes are found in two parts:
+    *  1) the posting lists of the fridge's ingredients. A recipe
+    *     is considered only under the first of its ingredients
+    *     that is in the fridge, so each is seen once, and its
+    *     missing count comes from bit tests of its ingredients.
+    *     Recipes longer than the fridge plus maxMissing are 
+    *     skipped without looking at them.
+    *  2) recipes with no ingredient in the fridge at all, which 
+    *     can only qualify if they have at most maxMissing 
+    *     ingredients; these are the front of byLength.
+    * The cost therefore grows with the recipes that share an
+    * ingredient with the fridge, not with the catalog. Neither
+    * part is sorted, so nothing is buffered: the first part comes
+    * by ingredient ID and then in catalog order within each
+    * posting list, the second shortest recipes first and in
+    * catalog order within a length. Callers wanting catalog order
+    * can sort the stream. fridge must not change while the stream
+    * is being used. This ignores amounts; the makeable below
+    * takes them into account.
+    *
+    * @param BitSet fridge holds the IDs of the available ingredients
+    * @param int maxMissing is the most missing ingredients allowed
+    **************************************************************/
+  public IntStream makeable(BitSet fridge, int maxMissing) {
+    return makeable(fridge, null, maxMissing);
+  }
+
+  /****************************************************************
+    * makeable returns the IDs of every recipe missing at most 
+    * maxMissing of its ingredients from a fridge of amounts, where
+    * an ingredient is missing if there is not enough of it for
+    * the recipe (see Recipe.getAvailable). It works like the
+    * makeable above, in the same order, counting the missing 
+    * ingredients of the recipes sharing an ingredient with the 
+    * fridge by amount rather than by bit tests. have must not
+    * change while the stream is being used.
+    *
+    * @param float[] have holds how much there is of each ingredient,
+    * by ID, as from FridgeScores.getAmounts
+    * @param int maxMissing is the most missing ingredients allowed
+    **************************************************************/
+  public IntStream makeable(float[] have, int maxMissing) {
+    BitSet fridge = new BitSet(have.length);
+    for (int id = 0; id < have.length; id++) {
+      if (have[id] > 0) fridge.set(id);
+    }
+    return makeable(fridge, have, maxMissing);
+  }
+
+  /****************************************************************
+    * makeable does the work of both makeables; have is null to
+    * count by presence alone. Having too little of an ingredient
+    * only adds to what is missing, so the presence tests still 
+    * find every candidate.
+    **************************************************************/
+  private IntStream makeable(final BitSet fridge, final float[] have, final int maxMissing) {
+    if (maxMissing < 0) return IntStream.empty();
+    final int fridgeSize = fridge.cardinality();
+
+    IntStream sharing = fridge.stream()
+      .filter(id -> id < postings.length)
+      .flatMap(id -> Arrays.stream(postings[id])
+                 .filter(r -> store.length(r) - fridgeSize <= maxMissing)
+                 .filter(r -> {
+                     int missing = missingIfFirst(r, id, fridge);
+                     return missing >= 0 && missing <= maxMissing
+                       && (have == null || missing(r, have) <= maxMissing);
+                   }));
+
+    int shortEnd = lengthEnds[Math.min(maxMissing, lengthEnds.length - 1)];
+    IntStream notSharing = Arrays.stream(byLength, 0, shortEnd)
+      .filter(r -> missingIfFirst(r, -1, fridge) >= 0); //no ingredient is first: none in fridge
+
+    return IntStream.concat(sharing, notSharing);
+  }
+
+  /****************************************************************
+    * missingIfFirst returns how many ingredients of recipe r are
+    * not in fridge, or -1 if ingredient id is not the smallest of
+    * r's ingredient IDs that is in fridge.
+    **************************************************************/
+  private int missingIfFirst(int r, int id, BitSet fridge) {
+    int available = 0;
+    for (int p = store.start(r); p < store.start(r + 1); p++) {
+      int ingredient = store.idAt(p);
+      if (fridge.get(ingredient)) {
+        if (available == 0 && ingredient != id) return -1;
+        available++;
+      }
+    }
+    return store.length(r) - available;
+  }
+
+  /****************************************************************
+    * missing returns how many ingredients of recipe r there is not
+    * enough of in have.
+    **************************************************************/
+  private int missing(int r, float[] have) {
+    int missing = 0;
+    for (int p = store.start(r); p < store.start(r + 1); p++) {
+      if (!isEnough(p, have)) missing++;
+    }
+    return missing;
+  }
+
+  /****************************************************************
+    * length returns the number of ingredients of the recipe with
+    * the given ID, read from the store's starts column.
+    *
+    * @param int recipeId is the recipe's ID
+    **************************************************************/
+  public int length(int recipeId) {
+    return store.length(recipeId);
+  }
+
+  /****************************************************************
+    * weight returns the rarity weight of an ingredient, the
+    * IDF-style log((1 + recipes) / (1 + recipes using it)) + 1. An
+    * ingredient in every recipe weighs 1; rarer ones weigh more.
+    * Weights are rounded to whole multiples of 2^-32 and are under
+    * 32, so any sum of up to 65536 of them is exact in a double:
+    * adding and taking away weights in any order gives the same
+    * sum, and FridgeScores, BatchScorer and score always agree.
+    *
+    * @param int ingredientId is the ingredient's dictionary ID
+    **************************************************************/
+  public double weight(int ingredientId) {
+    return weights[ingredientId];
+  }
+
+  /****************************************************************
+    * totalWeight returns the summed rarity weights of all of the
+    * ingredients of the recipe with the given ID.
+    *
+    * @param int recipeId is the recipe's ID
+    **************************************************************/
+  public double totalWeight(int recipeId) {
+    return totalWeights[recipeId];
+  }
+
+  /****************************************************************
+    * toString returns a String representation of the catalog.
+    **************************************************************/
+  public String toString() {
+    return "RecipeCatalog of " + store.size() + " recipes and "
+      + dictionary.size() + " ingredients";
+  }
+
+
+  /****************************************************************
+    * Builder collects recipes one at a time and then builds the
+    * catalog. It is the only way to make a RecipeCatalog, so every
+    * loader goes through it. Recipes are collected straight into
+    * the columns of a RecipeStore. A Builder is not thread-safe.
+    **************************************************************/
+  public static class Builder {
+
+    private IngredientDictionary dictionary;
+    private ArrayList<String> names;
+    private int[] starts; //starts[r] for every recipe so far, and the end
+    private int[] ids;
+    private float[] amounts; //base units, aligned with ids; null until some recipe has amounts
+    private byte[] dimensions; //Quantity.Dimension ordinals, aligned with ids
+    private boolean offHeap;
+
+    /**************************************************************
+      * Constructor creates an empty Builder with its own
+      * dictionary, which matches ingredient names with
+      * IngredientNormalizer.standard(). The catalog is built off
+      * the heap if the system property recipe.offHeap is true, so
+      * every loader can be switched with -Drecipe.offHeap=true.
+      ************************************************************/
+    public Builder() {
+      this(IngredientNormalizer.standard());
+    }
+
+    /**************************************************************
+      * Second constructor creates an empty Builder whose
+      * dictionary matches ingredient names with normalizer.
+      *
+      * @param IngredientNormalizer normalizer makes names into keys
+      ************************************************************/
+    public Builder(IngredientNormalizer normalizer) {
+      dictionary = new IngredientDictionary(normalizer);
+      names = new ArrayList<String>();
+      starts = new int[16];
+      ids = new int[64];
+      offHeap = Boolean.getBoolean("recipe.offHeap");
+    }
+
+    /**************************************************************
+      * setOffHeap chooses whether build stores the recipes in
+      * direct memory outside the Java heap, which keeps the heap
+      * and garbage collection pauses small for very large
+      * catalogs at the cost of decoding names when they are read.
+      *
+      * @param boolean offHeap is whether to store off the heap
+      ************************************************************/
+    public void setOffHeap(boolean offHeap) {
+      this.offHeap = offHeap;
+    }
+
+    /**************************************************************
+      * addRecipe adds a recipe with the given name and ingredient
+      * names, interning the names in the dictionary. Duplicate
+      * ingredients are only counted once. The recipe's ID is
+      * returned.
+      *
+      * @param String name is the name of the recipe
+      * @param Collection<String> ingredients are its ingredients
+      ************************************************************/
+    public int addRecipe(String name, Collection<String> ingredients) {
+      int[] ids = new int[ingredients.size()];
+      int n = 0;
+      for (String ingredient : ingredients) ids[n++] = dictionary.intern(ingredient);
+      return addRecipe(name, ids, n);
+    }
+
+    /**************************************************************
+      * addRecipe adds a recipe from the first count entries of
+      * ingredientIds, which must already be IDs in this Builder's
+      * dictionary. The IDs are copied, sorted and deduplicated.
+      *
+      * @param String name is the name of the recipe
+      * @param int[] ingredientIds holds its ingredient IDs
+      * @param int count is how many entries of ingredientIds to use
+      ************************************************************/
+    public int addRecipe(String name, int[] ingredientIds, int count) {
+      int from = starts[names.size()];
+      reserve(count);
+      System.arraycopy(ingredientIds, 0, ids, from, count);
+      Arrays.sort(ids, from, from + count);
+
+      int unique = from;
+      for (int p = from; p < from + count; p++) {
+        if (unique == from || ids[unique - 1] != ids[p]) ids[unique++] = ids[p];
+      }
+      return endRecipe(name, unique);
+    }
+
+    /**************************************************************
+      * addRecipe adds a recipe from the first count entries of
+      * ingredientIds, like the method above, with how much of each
+      * ingredient it needs. A null quantity means no amount. If an
+      * ingredient is listed twice, its amounts of the same
+      * dimension are added up.
+      *
+      * @param String name is the name of the recipe
+      * @param int[] ingredientIds holds its ingredient IDs
+      * @param Quantity[] quantities holds the amount of each one
+      * @param int count is how many entries of ingredientIds to use
+      ************************************************************/
+    public int addRecipe(String name, int[] ingredientIds, Quantity[] quantities, int count) {
+      float[] amount = new float[count];
+      byte[] dimension = new byte[count];
+      for (int i = 0; i < count; i++) {
+        if (quantities[i] == null) continue;
+        amount[i] = (float) quantities[i].getAmount();
+        dimension[i] = (byte) quantities[i].getDimension().ordinal();
+      }
+      return addRecipe(name, ingredientIds, amount, dimension, count);
+    }
+
+    //adds a recipe with amounts in base units, sorting by ID
+    private int addRecipe(String name, int[] ingredientIds, float[] amount, byte[] dimension, int count) {
+      long[] order = new long[count]; //ID in the high half, entry in the low half
+      for (int i = 0; i < count; i++) order[i] = ((long) ingredientIds[i] << 32) | i;
+      Arrays.sort(order);
+
+      int from = starts[names.size()];
+      reserve(count);
+      allocateAmounts();
+      int end = from;
+      for (long entry : order) {
+        int id = (int) (entry >>> 32), i = (int) entry;
+        if (end > from && ids[end - 1] == id) {
+          if (dimensions[end - 1] == dimension[i]) amounts[end - 1] += amount[i];
+          else if (dimensions[end - 1] == 0) {
+            amounts[end - 1] = amount[i];
+            dimensions[end - 1] = dimension[i];
+          }
+          continue;
+        }
+        ids[end] = id;
+        amounts[end] = amount[i];
+        dimensions[end] = dimension[i];
+        end++;
+      }
+      return endRecipe(name, end);
+    }
+
+    /**************************************************************
+      * addSortedRecipe adds a recipe whose ingredient IDs are
+      * already sorted and unique, copying them without checking.
+      * It is meant for loaders reading data this class wrote, such
+      * as BinaryCatalog.
+      *
+      * @param String name is the name of the recipe
+      * @param int[] ingredientIds holds its sorted, unique IDs
+      * @param int from is where its IDs begin in ingredientIds
+      * @param int count is how many IDs it has
+      ************************************************************/
+    int addSortedRecipe(String name, int[] ingredientIds, int from, int count) {
+      return addSortedRecipe(name, ingredientIds, null, null, from, count);
+    }
+
+    /**************************************************************
+      * addSortedRecipe also copies the amounts of the recipe's
+      * ingredients in base units and their dimension ordinals,
+      * aligned with ingredientIds, unless amount is null.
+      ************************************************************/
+    int addSortedRecipe(String name, int[] ingredientIds, float[] amount, byte[] dimension,
+                        int from, int count) {
+      int to = starts[names.size()];
+      reserve(count);
+      System.arraycopy(ingredientIds, from, ids, to, count);
+      if (amount != null) {
+        allocateAmounts();
+        System.arraycopy(amount, from, amounts, to, count);
+        System.arraycopy(dimension, from, dimensions, to, count);
+      }
+      return endRecipe(name, to + count);
+    }
+
+    //makes room for count more IDs and one more start
+    private void reserve(int count) {
+      int end = starts[names.size()];
+      if (end + count > ids.length) {
+        ids = Arrays.copyOf(ids, Math.max(ids.length * 2, end + count));
+        if (amounts != null) {
+          amounts = Arrays.copyOf(amounts, ids.length);
+          dimensions = Arrays.copyOf(dimensions, ids.length);
+        }
+      }
+      if (names.size() + 2 > starts.length) starts = Arrays.copyOf(starts, starts.length * 2);
+    }
+
+    //starts the amount columns; entries already added have no amount
+    private void allocateAmounts() {
+      if (amounts != null) return;
+      amounts = new float[ids.length];
+      dimensions = new byte[ids.length];
+    }
+
+    //records a recipe whose IDs end at end, returning its ID
+    private int endRecipe(String name, int end) {
+      names.add(name);
+      starts[names.size()] = end;
+      return names.size() - 1;
+    }
+
+    /**************************************************************
+      * addAll adds every recipe of another Builder, in order,
+      * translating its ingredient IDs into this Builder's
+      * dictionary. Loaders that parse parts of a file separately
+      * use it to put the parts back together.
+      *
+      * @param Builder other holds the recipes being added
+      ************************************************************/
+    public void addAll(Builder other) {
+      int[] remap = new int[other.dictionary.size()];
+      for (int id = 0; id < remap.length; id++) {
+        remap[id] = dictionary.intern(other.dictionary.nameOf(id));
+      }
+
+      int[] buffer = new int[16];
+      for (int r = 0; r < other.names.size(); r++) {
+        int from = other.starts[r], count = other.starts[r + 1] - from;
+        if (buffer.length < count) buffer = new int[count];
+        for (int i = 0; i < count; i++) buffer[i] = remap[other.ids[from + i]];
+        if (other.amounts == null) addRecipe(other.names.get(r), buffer, count);
+        else addRecipe(other.names.get(r), buffer, Arrays.copyOfRange(other.amounts, from, from + count),
+                       Arrays.copyOfRange(other.dimensions, from, from + count), count);
+      }
+    }
+
+    /**************************************************************
+      * getDictionary returns the dictionary recipes are being
+      * interned in, for loaders that intern names themselves.
+      ************************************************************/
+    public IngredientDictionary getDictionary() {
+      return dictionary;
+    }
+
+    /**************************************************************
+      * build returns the finished catalog. The Builder must not
+      * be used afterwards. If any recipe has amounts, every
+      * ingredient is given the unit most of its amounts are in,
+      * and amounts in another dimension are dropped, since they
+      * cannot be compared.
+      ************************************************************/
+    public RecipeCatalog build() {
+      int size = names.size();
+      int total = starts[size];
+      Quantity.Dimension[] units = null;
+      float[] needs = null;
+      if (amounts != null) {
+        Quantity.Dimension[] all = Quantity.Dimension.values();
+        int[] votes = new int[dictionary.size() * all.length];
+        for (int p = 0; p < total; p++) {
+          if (dimensions[p] != 0) votes[ids[p] * all.length + dimensions[p]]++;
+        }
+        units = new Quantity.Dimension[dictionary.size()];
+        for (int id = 0; id < units.length; id++) {
+          int best = 0;
+          for (int d = 1; d < all.length; d++) {
+            if (votes[id * all.length + d] > votes[id * all.length + best]) best = d;
+          }
+          units[id] = all[best];
+        }
+        needs = new float[total];
+        for (int p = 0; p < total; p++) {
+          if (dimensions[p] != 0 && dimensions[p] == units[ids[p]].ordinal()) needs[p] = amounts[p];
+        }
+      }
+
+      RecipeStore store = offHeap
+        ? new RecipeStore.OffHeap(names, starts, ids, needs)
+        : new RecipeStore.OnHeap(names.toArray(new String[size]), Arrays.copyOf(starts, size + 1),
+                                 Arrays.copyOf(ids, total), needs);
+      return new RecipeCatalog(dictionary, store, units);
+    }
+  }
+
+
+  public static void main(String[] args) {
+    //testing load and shared
+    System.out.println("Testing load and shared");
+    RecipeCatalog test = RecipeCatalog.shared("recipes0516.txt");
+    System.out.println("Expected: 10 recipes\tActual: " + test);
+    System.out.println("Expected: true\tActual: " + (test == RecipeCatalog.shared("recipes0516.txt")));
+    System.out.print("Expected: error\tActual: ");
+    System.out.println(RecipeCatalog.load("nonexistent.txt"));
+
+    //testing recipesWith
+    System.out.println("\nTesting recipesWith");
+    int jelly = test.getDictionary().idOf("Jelly");
+    int[] withJelly = test.recipesWith(jelly);
+    System.out.println("Expected: PBnJ\tActual: " + test.get(withJelly[0]).getName());
+
+    //testing find
+    System.out.println("\nTesting find");
+    System.out.println("Expected: BLT\tActual: " + test.find("BLT").getName());
+    System.out.println("Expected: null\tActual: " + test.find("error"));
+
+    //testing makeable
+    System.out.println("\nTesting makeable");
+    BitSet fridge = new BitSet();
+    for (String item : new String[] {"Bread", "PB", "Lettuce", "Tomato", "Bacon", "Mayo"}) {
+      fridge.set(test.getDictionary().idOf(item));
+    }
+    System.out.println("Expected: [BLT, PBnJ]\tActual: "
+                         + test.makeable(fridge, 1).mapToObj(r -> test.get(r).getName())
+                             .collect(Collectors.toList()));
+    System.out.println("Expected: 0\tActual: " + test.makeable(new BitSet(), 2).count());
+    System.out.println("Expected: 1\tActual: " + test.makeable(new BitSet(), 3).count());
+
+    //testing Builder
+    System.out.println("\nTesting Builder");
+    Builder builder = new Builder();
+    builder.addRecipe("Cake", Arrays.asList("flour", "egg", "flour"));
+    builder.addRecipe("Toast", Arrays.asList("bread"));
+    RecipeCatalog small = builder.build();
+    System.out.println("Expected: 2 recipes and 3 ingredients\tActual: " + small);
+    System.out.println("Expected: 2 ingredients\tActual: " + small.get(0));
+    System.out.println("Expected: false\tActual: " + small.hasNameSearch());
+    small.getNameSearch();
+    System.out.println("Expected: true\tActual: " + small.hasNameSearch());
+
+    //testing that ingredient variants share one ID
+    System.out.println("\nTesting normalized ingredients");
+    Map<String, String> aliases = new HashMap<String, String>();
+    aliases.put("PB", "Peanut Butter");
+    Builder normalized = new Builder(new IngredientNormalizer(aliases));
+    normalized.addRecipe("PBnJ", Arrays.asList("Bread", "PB", "Jelly"));
+    normalized.addRecipe("Peanut Butter Toast", Arrays.asList("bread", "peanut butter"));
+    normalized.addRecipe("Omelette", Arrays.asList("Eggs", "Cheese"));
+    RecipeCatalog forgiving = normalized.build();
+    System.out.println("Expected: 5 ingredients\tActual: " + forgiving.getDictionary().size() + " ingredients");
+    System.out.println("Expected: 2\tActual: " + forgiving.frequency(forgiving.getDictionary().idOf("Peanut Butter")));
+    System.out.println("Expected: true\tActual: " + forgiving.find("Omelette").contains("egg"));
+
+    //testing an off-heap catalog against the same recipes on the heap
+    System.out.println("\nTesting setOffHeap");
+    Builder offHeapBuilder = new Builder();
+    offHeapBuilder.setOffHeap(true);
+    offHeapBuilder.addRecipe("Cake", Arrays.asList("flour", "egg", "flour"));
+    offHeapBuilder.addRecipe("Toast", Arrays.asList("bread"));
+    offHeapBuilder.addRecipe("Cr\u00e8me br\u00fbl\u00e9e", Arrays.asList("cream", "egg", "sugar"));
+    offHeapBuilder.addRecipe("Toast", Arrays.asList("jam"));
+    RecipeCatalog offHeap = offHeapBuilder.build();
+    System.out.println("Expected: true\tActual: " + (offHeap.isOffHeap() && offHeap.offHeapBytes() > 0));
+    System.out.println("Expected: false\tActual: " + small.isOffHeap());
+    System.out.println("Expected: 4 recipes\tActual: " + offHeap);
+    System.out.println("Expected: " + small.get(0) + "\tActual: " + offHeap.get(0));
+    System.out.println("Expected: 1\tActual: " + offHeap.find("Toast").getId());
+    System.out.println("Expected: 2\tActual: " + offHeap.find("Cr\u00e8me br\u00fbl\u00e9e").getId());
+    System.out.println("Expected: null\tActual: " + offHeap.find("Cake "));
+    System.out.println("Expected: true\tActual: " + offHeap.get(2).contains("sugar"));
+    System.out.println("Expected: true\tActual: " + offHeap.get(1).equals(offHeap.find("Toast")));
+    BitSet eggs = new BitSet();
+    eggs.set(offHeap.getDictionary().idOf("egg"));
+    System.out.println("Expected: [0, 1, 3]\tActual: "
+                         + Arrays.toString(offHeap.makeable(eggs, 1).sorted().toArray()));
+  }
+}
@@ -0,0 +1,317 @@
+/*****************************************************************
+  * FILE NAME: RecipeFileParser.java
+  * WHO: Jenny Wang and Lily Xie
+  * WHEN: October 18, 2026
+  *
+  * WHAT: RecipeFileParser reads the recipe .txt format straight
+  * out of a memory-mapped file and adds the recipes it finds to a
+  * RecipeCatalog.Builder. The format is:
+  *
+  * Recipe name
+  * . //delimiter for ingredients
+  * Ingredient
+  * .
+  * //etc...
+  * Last ingredient
+  * # //delimiter for recipes
+  *
+  * An ingredient line may also say how much the recipe needs, 
+  * after a '|', as in "Egg | 6" or "Flour | 2 1/2 cups" (see
+  * Quantity for the units understood). Files without any amounts
+  * are read exactly as before.
+  *
+  * The parser works on bytes. It finds lines by scanning for '\n'
+  * (a '\r' before it is dropped), skips '.' and blank lines, and
+  * ends a recipe at '#'. Ingredient lines are looked up in a hash
+  * table keyed by their bytes, so a String is only created the
+  * first time an ingredient is seen; after that an ingredient
+  * line costs a hash and a byte comparison. Recipe names are
+  * decoded as UTF-8.
+  *
+  * Files are mapped in windows, so files larger than 2 GB work
+  * too; a line cut off at the end of a window is parsed again at
+  * the start of the next one. A parser is not thread-safe.
+  ****************************************************************/
+
+import java.util.*;
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+public class RecipeFileParser {
+
+  private static final int DEFAULT_WINDOW = 1 << 26; //64 MB mapped at a time
+
+  private final RecipeCatalog.Builder builder;
+  private final int windowSize;
+
+  //the recipe being read; recipeName is null between recipes
+  private String recipeName;
+  private int[] ingredients;
+  private Quantity[] quantities; //null entries for no amount
+  private boolean hasQuantities; //whether any entry is not null
+  private int ingredientCount;
+
+  private byte[] line; //bytes of the current line
+
+  //open addressing table from ingredient bytes to dictionary ID
+  private byte[][] keys;
+  private int[] keyHashes;
+  private int[] keyIds;
+  private int keyCount;
+
+  /****************************************************************
+    * Constructor creates a parser that adds recipes to builder.
+    *
+    * @param RecipeCatalog.Builder builder receives the recipes
+    **************************************************************/
+  public RecipeFileParser(RecipeCatalog.Builder builder) {
+    this(builder, DEFAULT_WINDOW);
+  }
+
+  /****************************************************************
+    * Second constructor also sets how many bytes of the file are
+    * mapped at a time. Small windows are only useful for testing.
+    *
+    * @param RecipeCatalog.Builder builder receives the recipes
+    * @param int windowSize is the number of bytes mapped at once
+    **************************************************************/
+  RecipeFileParser(RecipeCatalog.Builder builder, int windowSize) {
+    this.builder = builder;
+    this.windowSize = windowSize;
+    ingredients = new int[16];
+    quantities = new Quantity[16];
+    line = new byte[256];
+    keys = new byte[1024][];
+    keyHashes = new int[keys.length];
+    keyIds = new int[keys.length];
+  }
+
+  /****************************************************************
+    * load parses a whole recipe file into a new RecipeCatalog.
+    *
+    * @param String fileName is the name of the file being read
+    **************************************************************/
+  public static RecipeCatalog load(String fileName) throws IOException {
+    RecipeCatalog.Builder builder = new RecipeCatalog.Builder();
+    new RecipeFileParser(builder).parseFile(new File(fileName));
+    return builder.build();
+  }
+
+  /****************************************************************
+    * parseFile maps file window by window and parses all of it.
+    * It throws a FileNotFoundException if the file is missing.
+    *
+    * @param File file is the recipe file
+    **************************************************************/
+  public void parseFile(File file) throws IOException {
+    FileInputStream in = new FileInputStream(file);
+    try {
+      FileChannel channel = in.getChannel();
+      long size = channel.size();
+      long position = 0;
+
+      while (position < size) {
+        int length = (int) Math.min(windowSize, size - position);
+        boolean last = (position + length == size);
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+
+        int consumed = parse(window, 0, length, last);
+        if (consumed == 0 && !last)
+          throw new IOException("Line longer than " + windowSize + " bytes in " + file);
+        position += consumed;
+      }
+      finish();
+    } finally {
+      in.close();
+    }
+  }
+
+  /****************************************************************
+    * parse reads the lines in buf between from and to. Only whole
+    * lines are consumed unless endOfInput is true, in which case a
+    * last line without a '\n' is parsed as well. Returns how many
+    * bytes were consumed, so the caller knows where to continue.
+    *
+    * @param ByteBuffer buf holds the bytes (only absolute gets)
+    * @param int from is the index of the first byte
+    * @param int to is the index after the last byte
+    * @param boolean endOfInput is whether no more bytes follow
+    **************************************************************/
+  public int parse(ByteBuffer buf, int from, int to, boolean endOfInput) {
+    int start = from;
+    for (int i = from; i < to; i++) {
+      if (buf.get(i) == '\n') {
+        parseLine(buf, start, i);
+        start = i + 1;
+      }
+    }
+
+    if (endOfInput && start < to) {
+      parseLine(buf, start, to);
+      start = to;
+    }
+    return start - from;
+  }
+
+  /****************************************************************
+    * finish adds the recipe being read, if any, when the input
+    * ends without a final '#'.
+    **************************************************************/
+  public void finish() {
+    if (recipeName != null) endRecipe();
+  }
+
+  /****************************************************************
+    * parseLine handles one line, from start up to (not including)
+    * the '\n' at end.
+    **************************************************************/
+  private void parseLine(ByteBuffer buf, int start, int end) {
+    if (end > start && buf.get(end - 1) == '\r') end--;
+    int length = end - start;
+
+    if (length == 0) return; //blank line
+    if (length == 1) {
+      byte b = buf.get(start);
+      if (b == '.') return; //ingredient delimiter
+      if (b == '#') { //recipe delimiter
+        if (recipeName != null) endRecipe();
+        return;
+      }
+    }
+
+    if (line.length < length) line = new byte[Math.max(length, line.length * 2)];
+    buf.get(start, line, 0, length);
+
+    if (recipeName == null) {
+      recipeName = new String(line, 0, length, StandardCharsets.UTF_8);
+    }
+    else {
+      if (ingredientCount == ingredients.length) {
+        ingredients = Arrays.copyOf(ingredients, ingredientCount * 2);
+        quantities = Arrays.copyOf(quantities, ingredientCount * 2);
+      }
+      int bar = 0;
+      while (bar < length && line[bar] != '|') bar++;
+      Quantity quantity = null;
+      if (bar < length) {
+        quantity = Quantity.parse(new String(line, bar + 1, length - bar - 1, StandardCharsets.UTF_8));
+        hasQuantities = true;
+        while (bar > 0 && (line[bar - 1] == ' ' || line[bar - 1] == '\t')) bar--;
+      }
+      quantities[ingredientCount] = quantity;
+      ingredients[ingredientCount++] = internLine(bar);
+    }
+  }
+
+  /****************************************************************
+    * endRecipe hands the recipe being read to the builder.
+    **************************************************************/
+  private void endRecipe() {
+    if (hasQuantities) builder.addRecipe(recipeName, ingredients, quantities, ingredientCount);
+    else builder.addRecipe(recipeName, ingredients, ingredientCount);
+    recipeName = null;
+    ingredientCount = 0;
+    hasQuantities = false;
+  }
+
+  /****************************************************************
+    * internLine returns the dictionary ID of the ingredient whose
+    * bytes are the first length bytes of line. Only a miss in the
+    * byte table creates a String.
+    **************************************************************/
+  private int internLine(int length) {
+    int hash = 0x811c9dc5; //FNV-1a
+    for (int i = 0; i < length; i++) hash = (hash ^ line[i]) * 0x01000193;
+
+    int mask = keys.length - 1;
+    int slot = hash & mask;
+    while (keys[slot] != null) {
+      if (keyHashes[slot] == hash && sameBytes(keys[slot], length)) return keyIds[slot];
+      slot = (slot + 1) & mask;
+    }
+
+    String name = new String(line, 0, length, StandardCharsets.UTF_8);
+    int id = builder.getDictionary().intern(name);
+    keys[slot] = Arrays.copyOf(line, length);
+    keyHashes[slot] = hash;
+    keyIds[slot] = id;
+    if (++keyCount * 2 > keys.length) growKeys();
+    return id;
+  }
+
+  private boolean sameBytes(byte[] key, int length) {
+    if (key.length != length) return false;
+    for (int i = 0; i < length; i++) {
+      if (key[i] != line[i]) return false;
+    }
+    return true;
+  }
+
+  /****************************************************************
+    * growKeys doubles the byte table once it is half full.
+    **************************************************************/
+  private void growKeys() {
+    byte[][] oldKeys = keys;
+    int[] oldHashes = keyHashes;
+    int[] oldIds = keyIds;
+
+    keys = new byte[oldKeys.length * 2][];
+    keyHashes = new int[keys.length];
+    keyIds = new int[keys.length];
+    int mask = keys.length - 1;
+
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] == null) continue;
+      int slot = oldHashes[i] & mask;
+      while (keys[slot] != null) slot = (slot + 1) & mask;
+      keys[slot] = oldKeys[i];
+      keyHashes[slot] = oldHashes[i];
+      keyIds[slot] = oldIds[i];
+    }
+  }
+
+
+  public static void main(String[] args) throws IOException {
+    //testing load
+    System.out.println("Testing load");
+    RecipeCatalog test = RecipeFileParser.load("recipes0516.txt");
+    System.out.println("Expected: 10 recipes and 29 ingredients\tActual: " + test);
+    System.out.println("Expected: PBnJ contains 3 ingredients\tActual: " + test.get(4));
+
+    //testing lines split across small windows
+    System.out.println("\nTesting 32 byte windows");
+    RecipeCatalog.Builder builder = new RecipeCatalog.Builder();
+    new RecipeFileParser(builder, 32).parseFile(new File("recipes0516.txt"));
+    RecipeCatalog windowed = builder.build();
+    System.out.println("Expected: " + test.get(9) + "\tActual: " + windowed.get(9));
+
+    //testing CRLF, blank lines and a missing final #
+    System.out.println("\nTesting CRLF and missing final #");
+    byte[] text = "Toast\r\n.\r\nBread\r\n#\r\n\r\nJam Toast\n.\nBread\n.\nJam".getBytes("UTF-8");
+    builder = new RecipeCatalog.Builder();
+    RecipeFileParser parser = new RecipeFileParser(builder);
+    parser.parse(ByteBuffer.wrap(text), 0, text.length, true);
+    parser.finish();
+    RecipeCatalog small = builder.build();
+    System.out.println("Expected: 2 recipes and 2 ingredients\tActual: " + small);
+    System.out.println("Expected: [Bread, Jam]\tActual: " + small.get(1).getIngredients());
+
+    //testing amounts
+    System.out.println("\nTesting amounts");
+    text = ("Omelette\n.\nEggs | 3\n.\nMilk | 1/4 cup\n.\nEgg | 1\n#\n"
+              + "Cake\n.\nEgg|2\n.\nFlour | 200 g\n.\nMilk | 1 cup\n.\nSalt | a pinch\n#\n").getBytes("UTF-8");
+    builder = new RecipeCatalog.Builder();
+    parser = new RecipeFileParser(builder);
+    parser.parse(ByteBuffer.wrap(text), 0, text.length, true);
+    RecipeCatalog measured = builder.build();
+    System.out.println("Expected: [Eggs, Milk]\tActual: " + measured.get(0).getIngredients());
+    System.out.println("Expected: 4.0 59.147\tActual: " + measured.get(0).amountAt(0) + " " 
+                         + measured.get(0).amountAt(1));
+    System.out.println("Expected: 200.0 0.0\tActual: " + measured.get(1).amountAt(2) + " " 
+                         + measured.get(1).amountAt(3));
+    System.out.println("Expected: VOLUME\tActual: " 
+                         + measured.unitOf(measured.getDictionary().idOf("milk")));
+  }
+}
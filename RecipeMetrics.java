@@ -0,0 +1,210 @@
+/*****************************************************************
+  * FILE NAME: RecipeMetrics.java
+  * WHO: Jenny Wang and Lily Xie
+  * WHEN: October 18, 2026
+  *
+  * WHAT: RecipeMetrics holds the OperationTimers of the operations
+  * that matter for performance, and the size of the catalog loaded
+  * last, so that regressions show up while the program runs:
+  *  - LOAD, reading a catalog from a file (RecipeCatalog.read)
+  *  - CALCULATE_SCORES, User.calculateScores
+  *  - TOP_RECIPES, User.topRecipes
+  *  - FIND_IN_LIST, User.findInList
+  *
+  * Everything is registered with the platform MBean server under
+  * "recipe:type=...", so jconsole or any JMX client can read it,
+  * and can also be sent to a Reporter on a schedule. Allocation
+  * tracking reads the thread's allocated bytes on every start and
+  * stop, which is not free, so it is off unless asked for, either
+  * with trackAllocations or through JMX.
+  ****************************************************************/
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.lang.management.*;
+import javax.management.*;
+
+public class RecipeMetrics implements RecipeMetricsMBean {
+
+  public static final OperationTimer LOAD = new OperationTimer("load");
+  public static final OperationTimer CALCULATE_SCORES = new OperationTimer("calculateScores");
+  public static final OperationTimer TOP_RECIPES = new OperationTimer("topRecipes");
+  public static final OperationTimer FIND_IN_LIST = new OperationTimer("findInList");
+
+  private static final List<OperationTimer> TIMERS =
+    Collections.unmodifiableList(Arrays.asList(LOAD, CALCULATE_SCORES, TOP_RECIPES, FIND_IN_LIST));
+
+  private static final RecipeMetrics INSTANCE = new RecipeMetrics();
+  private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+  private static volatile boolean tracking;
+  private static volatile int catalogRecipes, catalogIngredients;
+  private static volatile long catalogLoads;
+
+  static {
+    register("recipe:type=Metrics", INSTANCE);
+    for (OperationTimer timer : TIMERS) {
+      register("recipe:type=Operation,name=" + timer.getName(), timer);
+    }
+  }
+
+  /****************************************************************
+    * Reporter is told the current timers every reporting period,
+    * so metrics can go to a log, a file or a monitoring system.
+    **************************************************************/
+  public interface Reporter {
+    void report(List<OperationTimer> timers);
+  }
+
+  /****************************************************************
+    * CONSOLE is a Reporter that prints each timer on a line.
+    **************************************************************/
+  public static final Reporter CONSOLE = timers -> {
+    for (OperationTimer timer : timers) System.out.println(timer);
+  };
+
+  private RecipeMetrics() {
+  }
+
+  private static void register(String name, Object bean) {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName objectName = new ObjectName(name);
+      if (!server.isRegistered(objectName)) server.registerMBean(bean, objectName);
+    } catch (JMException e) {
+      System.out.println("Could not register " + name + ": " + e.getMessage());
+    }
+  }
+
+  /****************************************************************
+    * timers returns every timer.
+    **************************************************************/
+  public static List<OperationTimer> timers() {
+    return TIMERS;
+  }
+
+  /****************************************************************
+    * catalogLoaded records that catalog was loaded, as the catalog
+    * being used from now on.
+    *
+    * @param RecipeCatalog catalog is the catalog just loaded
+    **************************************************************/
+  public static synchronized void catalogLoaded(RecipeCatalog catalog) {
+    catalogRecipes = catalog.size();
+    catalogIngredients = catalog.getDictionary().size();
+    catalogLoads++;
+  }
+
+  /****************************************************************
+    * report gives every timer to reporter every periodMillis on a
+    * daemon thread, and returns the thread's executor so reporting
+    * can be stopped with shutdown.
+    *
+    * @param Reporter reporter receives the timers
+    * @param long periodMillis is the time between reports
+    **************************************************************/
+  public static ScheduledExecutorService report(final Reporter reporter, long periodMillis) {
+    ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(task -> {
+      Thread thread = new Thread(task, "recipe-metrics");
+      thread.setDaemon(true);
+      return thread;
+    });
+    executor.scheduleAtFixedRate(() -> reporter.report(TIMERS),
+                                 periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    return executor;
+  }
+
+  /****************************************************************
+    * trackAllocations turns measuring allocated bytes on or off,
+    * if the JVM can measure them.
+    *
+    * @param boolean track is whether to measure
+    **************************************************************/
+  public static void trackAllocations(boolean track) {
+    tracking = track && THREADS instanceof com.sun.management.ThreadMXBean
+      && ((com.sun.management.ThreadMXBean) THREADS).isThreadAllocatedMemorySupported();
+    if (tracking) ((com.sun.management.ThreadMXBean) THREADS).setThreadAllocatedMemoryEnabled(true);
+  }
+
+  static boolean isTracking() {
+    return tracking;
+  }
+
+  /****************************************************************
+    * allocatedBytes returns how many bytes the calling thread has
+    * allocated so far, when tracking.
+    **************************************************************/
+  static long allocatedBytes() {
+    return ((com.sun.management.ThreadMXBean) THREADS).getCurrentThreadAllocatedBytes();
+  }
+
+  /****************************************************************
+    * summary returns every timer and the catalog size as text.
+    **************************************************************/
+  public static String summary() {
+    StringBuilder text = new StringBuilder();
+    text.append("catalog         ").append(catalogRecipes).append(" recipes, ")
+      .append(catalogIngredients).append(" ingredients, ")
+      .append(catalogLoads).append(" loads\n");
+    for (OperationTimer timer : TIMERS) text.append(timer).append('\n');
+    return text.toString();
+  }
+
+  public int getCatalogRecipes() {
+    return catalogRecipes;
+  }
+
+  public int getCatalogIngredients() {
+    return catalogIngredients;
+  }
+
+  public long getCatalogLoads() {
+    return catalogLoads;
+  }
+
+  public boolean isTrackAllocations() {
+    return tracking;
+  }
+
+  public void setTrackAllocations(boolean track) {
+    trackAllocations(track);
+  }
+
+
+  public static void main(String[] args) throws Exception {
+    trackAllocations(true);
+    User test = new User("TEST", RecipeCatalog.load("recipes0516.txt"));
+    test.addContent("Bread");
+    test.addContent("PB");
+    for (int i = 0; i < 1000; i++) {
+      test.calculateScores();
+      test.topRecipes(3);
+      test.findInList("PBnJ");
+    }
+
+    //testing the timers
+    System.out.println("Testing the timers");
+    System.out.println("Expected: 1000\tActual: " + TOP_RECIPES.getCount());
+    System.out.println("Expected: true\tActual: "
+                         + (TOP_RECIPES.getP50Micros() <= TOP_RECIPES.getP99Micros()
+                              && TOP_RECIPES.getP99Micros() <= TOP_RECIPES.getMaxMicros()));
+    System.out.println("Expected: true\tActual: " + (TOP_RECIPES.getAllocatedBytes() > 0));
+    System.out.println("Expected: 1 load\tActual: " + LOAD.getCount() + " load");
+
+    //testing JMX
+    System.out.println("\nTesting JMX");
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    System.out.println("Expected: 1000\tActual: "
+                         + server.getAttribute(new ObjectName("recipe:type=Operation,name=findInList"), "Count"));
+    System.out.println("Expected: 10\tActual: "
+                         + server.getAttribute(new ObjectName("recipe:type=Metrics"), "CatalogRecipes"));
+
+    //testing a reporter
+    System.out.println("\nTesting a reporter");
+    final CountDownLatch reported = new CountDownLatch(1);
+    ScheduledExecutorService reporting = report(timers -> reported.countDown(), 10);
+    System.out.println("Expected: true\tActual: " + reported.await(5, TimeUnit.SECONDS));
+    reporting.shutdown();
+    System.out.print(summary());
+  }
+}
@@ -0,0 +1,533 @@
+/*****************************************************************
+  * FILE NAME: RecipeServer.java
+  * WHO: Jenny Wang and Lily Xie
+  * WHEN: October 18, 2026
+  *
+  * WHAT: RecipeServer answers recipe questions over HTTP without
+  * the GUI, using the JDK's built-in HTTP server. Every request
+  * reads the same shared RecipeCatalog; the only per-request state
+  * is the fridge and a borrowed set of BatchScorer scratch arrays,
+  * so thousands of requests can run at once without copying the
+  * catalog. Requests run on virtual threads when the JDK has them
+  * (Java 21 and later) and on a cached thread pool otherwise.
+  *
+  * Scratch arrays take about 16 bytes per recipe, so at most one
+  * set per core is in use at a time, shared by all the strategies:
+  * scoring a /top miss takes a permit from one Semaphore, and
+  * other requests wait for one. Cache hits and the other endpoints
+  * need no permit. So the scratch memory stays under four sets per
+  * core (one pool per strategy) however many requests come in.
+  *
+  * Answers are plain UTF-8 text, one item per line. A fridge is
+  * given either as the body of a POST, one ingredient per line, or
+  * as a comma-separated fridge parameter. An ingredient may say
+  * how much there is of it after a bar, as in recipe files
+  * ("Egg | 2", "Milk | 1 cup"), and then only counts for recipes
+  * needing no more than that; without one it counts for any
+  * amount. The endpoints are:
+  *
+  * GET  /recipe?name=BLT           the recipe's ingredients
+  * GET  /search?q=pan&limit=10     recipe names matching q
+  * POST /score?name=BLT            score, have and need lines for
+  *                                 one recipe and the fridge
+  * POST /top?k=10&strategy=rarity  "score<TAB>name" lines of the
+  *                                 best k recipes for the fridge
+  * GET  /stats                     the recommendation cache's
+  *                                 counters and RecipeMetrics
+  *
+  * strategy is one of match_count (the default), coverage,
+  * fewest_missing or rarity, and k is at most MAX_K. Unknown
+  * recipes give 404 and bad parameters give 400. Answers to /top
+  * go through a RecommendationCache, so the same fridge is only
+  * scored once while its result stays fresh.
+  *
+  * Given a ReloadingCatalog, the server switches to each new
+  * catalog by swapping one reference; a request in progress 
+  * finishes on the catalog it started with, and is scored without
+  * the cache once the cache has moved on to the new catalog.
+  *
+  * Run main to serve a recipe file:
+  *   java RecipeServer 8080 recipes0516.txt
+  ****************************************************************/
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.io.*;
+import java.net.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import com.sun.net.httpserver.*;
+
+public class RecipeServer {
+
+  public static final int MAX_K = 100;
+  private static final int DEFAULT_K = 10;
+  private static final int DEFAULT_LIMIT = 10;
+  private static final int CACHE_ENTRIES = 100000;
+  private static final long CACHE_TTL_MILLIS = 10 * 60 * 1000L; //10 minutes
+
+  private final HttpServer server;
+  private final ExecutorService executor;
+  private final RecommendationCache cache;
+  private final Semaphore scoring; //one permit per fridge being scored
+  private volatile Snapshot snapshot; //what requests read
+  private ReloadingCatalog source; //where new catalogs come from, or null
+  private Consumer<RecipeCatalog> onReload; //registered with source
+
+  /****************************************************************
+    * Snapshot is a catalog together with its scorers, published
+    * as one unit.
+    **************************************************************/
+  private static class Snapshot {
+    final RecipeCatalog catalog;
+    final HashMap<String,BatchScorer> scorers; //by strategy name
+
+    Snapshot(RecipeCatalog catalog, Semaphore scoring) {
+      this.catalog = catalog;
+      scorers = new HashMap<String,BatchScorer>();
+      scorers.put("match_count", new BatchScorer(catalog, ScoringStrategy.MATCH_COUNT, MAX_K, scoring));
+      scorers.put("coverage", new BatchScorer(catalog, ScoringStrategy.COVERAGE, MAX_K, scoring));
+      scorers.put("fewest_missing", new BatchScorer(catalog, ScoringStrategy.FEWEST_MISSING, MAX_K, scoring));
+      scorers.put("rarity", new BatchScorer(catalog, ScoringStrategy.RARITY, MAX_K, scoring));
+    }
+  }
+
+  /****************************************************************
+    * Fridge is the fridge sent with a request: its ingredient IDs,
+    * -1 for unknown ones, and how much there is of each, in the
+    * catalog's unit for it (see RecipeCatalog.amountOf).
+    **************************************************************/
+  private static class Fridge {
+    final int[] ids;
+    final float[] amounts; //aligned with ids
+
+    Fridge(int[] ids, float[] amounts) {
+      this.ids = ids;
+      this.amounts = amounts;
+    }
+
+    /****************************************************************
+      * have returns the amounts by ingredient ID, as FridgeScores
+      * .getAmounts does. A repeated ingredient takes its last 
+      * amount, as in BatchScorer.top.
+      **************************************************************/
+    float[] have(RecipeCatalog catalog) {
+      float[] have = new float[catalog.getDictionary().size()];
+      for (int i = 0; i < ids.length; i++) {
+        if (ids[i] >= 0) have[ids[i]] = amounts[i];
+      }
+      return have;
+    }
+  }
+
+  /****************************************************************
+    * Constructor binds a server for catalog to port (0 picks a free
+    * port) but does not start it.
+    *
+    * @param RecipeCatalog catalog is the catalog being served
+    * @param int port is the port to listen on
+    **************************************************************/
+  public RecipeServer(RecipeCatalog catalog, int port) throws IOException {
+    scoring = new Semaphore(Runtime.getRuntime().availableProcessors(), true);
+    snapshot = new Snapshot(catalog, scoring);
+    cache = new RecommendationCache(CACHE_ENTRIES, CACHE_TTL_MILLIS);
+
+    executor = newRequestExecutor();
+    server = HttpServer.create(new InetSocketAddress(port), 1024);
+    server.setExecutor(executor);
+    server.createContext("/recipe", new Endpoint() {
+      String answer(HttpExchange exchange, Map<String,String> params) throws IOException {
+        return recipe(snapshot, params);
+      }
+    });
+    server.createContext("/search", new Endpoint() {
+      String answer(HttpExchange exchange, Map<String,String> params) throws IOException {
+        return search(snapshot, params);
+      }
+    });
+    server.createContext("/score", new Endpoint() {
+      String answer(HttpExchange exchange, Map<String,String> params) throws IOException {
+        Snapshot s = snapshot;
+        return score(s, params, readFridge(s, exchange, params));
+      }
+    });
+    server.createContext("/top", new Endpoint() {
+      String answer(HttpExchange exchange, Map<String,String> params) throws IOException {
+        Snapshot s = snapshot;
+        return top(s, params, readFridge(s, exchange, params));
+      }
+    });
+    server.createContext("/stats", new Endpoint() {
+      String answer(HttpExchange exchange, Map<String,String> params) {
+        return cache + "\n" + RecipeMetrics.summary();
+      }
+    });
+  }
+
+  /****************************************************************
+    * Constructor binds a server for the current catalog of source,
+    * and serves each new catalog once its scorers are built. The
+    * building happens on the reload thread, so requests never wait
+    * for it.
+    *
+    * @param ReloadingCatalog source holds the catalog being served
+    * @param int port is the port to listen on
+    **************************************************************/
+  public RecipeServer(ReloadingCatalog source, int port) throws IOException {
+    this(source.get(), port);
+    this.source = source;
+    onReload = catalog -> snapshot = new Snapshot(catalog, scoring);
+    source.addListener(onReload);
+    if (source.get() != snapshot.catalog) snapshot = new Snapshot(source.get(), scoring);
+  }
+
+  /****************************************************************
+    * newRequestExecutor returns a virtual thread per task executor
+    * if this JDK has one, found by reflection so the class still
+    * compiles and runs on older JDKs, or else a cached pool.
+    **************************************************************/
+  static ExecutorService newRequestExecutor() {
+    try {
+      return (ExecutorService) Executors.class
+        .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newCachedThreadPool();
+    }
+  }
+
+  /****************************************************************
+    * start starts answering requests.
+    **************************************************************/
+  public void start() {
+    server.start();
+  }
+
+  /****************************************************************
+    * stop stops the server, waiting up to delay seconds for
+    * requests being answered, ends its threads, and stops taking
+    * new catalogs from its ReloadingCatalog.
+    *
+    * @param int delay is the most seconds to wait
+    **************************************************************/
+  public void stop(int delay) {
+    if (source != null) source.removeListener(onReload);
+    server.stop(delay);
+    executor.shutdown();
+  }
+
+  /****************************************************************
+    * getPort returns the port the server listens on.
+    **************************************************************/
+  public int getPort() {
+    return server.getAddress().getPort();
+  }
+
+  /****************************************************************
+    * Each request handler below reads everything from the one 
+    * Snapshot it is given, so a reload part way through a request
+    * cannot mix two catalogs.
+    **************************************************************/
+  private String recipe(Snapshot s, Map<String,String> params) {
+    Recipe recipe = findRecipe(s, params);
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < recipe.length(); i++) {
+      text.append(s.catalog.getDictionary().nameOf(recipe.ingredientAt(i))).append('\n');
+    }
+    return text.toString();
+  }
+
+  private String search(Snapshot s, Map<String,String> params) {
+    String query = required(params, "q");
+    int limit = intParam(params, "limit", DEFAULT_LIMIT, MAX_K);
+    StringBuilder text = new StringBuilder();
+    for (int r : s.catalog.getNameSearch().search(query, limit)) {
+      text.append(s.catalog.get(r).getName()).append('\n');
+    }
+    return text.toString();
+  }
+
+  private String score(Snapshot s, Map<String,String> params, Fridge fridge) {
+    Recipe recipe = findRecipe(s, params);
+    BatchScorer scorer = scorer(s, params);
+    float[] given = fridge.have(s.catalog);
+
+    StringBuilder text = new StringBuilder();
+    text.append("score\t").append(s.catalog.score(recipe.getId(), given, scorer.getStrategy())).append('\n');
+    int[] ids = new int[recipe.length()];
+    int have = recipe.getAvailable(given, ids);
+    for (int i = 0; i < have; i++) {
+      text.append("have\t").append(s.catalog.getDictionary().nameOf(ids[i])).append('\n');
+    }
+    int need = recipe.getNeed(given, ids);
+    for (int i = 0; i < need; i++) {
+      text.append("need\t").append(s.catalog.getDictionary().nameOf(ids[i])).append('\n');
+    }
+    return text.toString();
+  }
+
+  private String top(Snapshot s, Map<String,String> params, Fridge fridge) {
+    BatchScorer scorer = scorer(s, params);
+    int k = intParam(params, "k", DEFAULT_K, MAX_K);
+    int[] best = cache.top(scorer, fridge.ids, fridge.amounts);
+    float[] given = fridge.have(s.catalog);
+
+    StringBuilder text = new StringBuilder();
+    for (int i = 0; i < best.length && i < k; i++) {
+      text.append(s.catalog.score(best[i], given, scorer.getStrategy())).append('\t')
+        .append(s.catalog.get(best[i]).getName()).append('\n');
+    }
+    return text.toString();
+  }
+
+  private Recipe findRecipe(Snapshot s, Map<String,String> params) {
+    String name = required(params, "name");
+    Recipe recipe = s.catalog.find(name);
+    if (recipe == null) throw new NoSuchElementException("No recipe named " + name);
+    return recipe;
+  }
+
+  private BatchScorer scorer(Snapshot s, Map<String,String> params) {
+    String name = params.containsKey("strategy") ? params.get("strategy") : "match_count";
+    BatchScorer scorer = s.scorers.get(name.toLowerCase());
+    if (scorer == null) throw new IllegalArgumentException("Unknown strategy " + name);
+    return scorer;
+  }
+
+  private static String required(Map<String,String> params, String name) {
+    String value = params.get(name);
+    if (value == null) throw new IllegalArgumentException("Missing parameter " + name);
+    return value;
+  }
+
+  private static int intParam(Map<String,String> params, String name, int orElse, int max) {
+    String value = params.get(name);
+    if (value == null) return orElse;
+    int n;
+    try {
+      n = Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Bad number for " + name + ": " + value);
+    }
+    if (n < 0 || n > max) throw new IllegalArgumentException(name + " must be 0 to " + max);
+    return n;
+  }
+
+  /****************************************************************
+    * readFridge returns the fridge sent with a request: the body
+    * of a POST, one ingredient per line, or the comma-separated
+    * fridge parameter. Unknown ingredients become -1, which 
+    * BatchScorer skips. An ingredient without an amount, or with 
+    * one that cannot be compared with what the recipes use, has
+    * positive infinity, enough for any recipe.
+    **************************************************************/
+  private Fridge readFridge(Snapshot s, HttpExchange exchange, Map<String,String> params) throws IOException {
+    ArrayList<String> names = new ArrayList<String>();
+    if ("POST".equals(exchange.getRequestMethod())) {
+      BufferedReader in = new BufferedReader(
+        new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8));
+      String line;
+      while ((line = in.readLine()) != null) {
+        if (line.trim().length() > 0) names.add(line.trim());
+      }
+    }
+    else if (params.containsKey("fridge")) {
+      for (String name : params.get("fridge").split(",")) {
+        if (name.trim().length() > 0) names.add(name.trim());
+      }
+    }
+    int[] ids = new int[names.size()];
+    float[] amounts = new float[names.size()];
+    for (int i = 0; i < ids.length; i++) {
+      String item = names.get(i);
+      int bar = item.indexOf('|');
+      ids[i] = s.catalog.getDictionary().idOf((bar < 0) ? item : item.substring(0, bar).trim());
+      if (ids[i] < 0 || bar < 0) amounts[i] = Float.POSITIVE_INFINITY;
+      else amounts[i] = s.catalog.amountOf(ids[i], Quantity.parse(item.substring(bar + 1)));
+    }
+    return new Fridge(ids, amounts);
+  }
+
+  /****************************************************************
+    * Endpoint turns an answer, or the exception thrown instead,
+    * into an HTTP response.
+    **************************************************************/
+  private abstract static class Endpoint implements HttpHandler {
+
+    abstract String answer(HttpExchange exchange, Map<String,String> params) throws IOException;
+
+    public void handle(HttpExchange exchange) throws IOException {
+      int status = 200;
+      String body;
+      try {
+        String method = exchange.getRequestMethod();
+        if (!method.equals("GET") && !method.equals("POST")) {
+          status = 405;
+          body = "Use GET or POST\n";
+        }
+        else body = answer(exchange, parseQuery(exchange.getRequestURI().getRawQuery()));
+      } catch (NoSuchElementException e) {
+        status = 404;
+        body = e.getMessage() + "\n";
+      } catch (IllegalArgumentException e) {
+        status = 400;
+        body = e.getMessage() + "\n";
+      } catch (RuntimeException e) {
+        //a bug rather than a bad request, so it is logged
+        System.out.println("Error answering " + exchange.getRequestURI().getPath() + ": " + e);
+        e.printStackTrace();
+        status = 500;
+        body = "Internal error\n";
+      }
+
+      byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+      exchange.sendResponseHeaders(status, bytes.length);
+      OutputStream out = exchange.getResponseBody();
+      try {
+        out.write(bytes);
+      } finally {
+        out.close();
+      }
+    }
+  }
+
+  /****************************************************************
+    * parseQuery splits a raw query string into decoded parameters.
+    * A repeated parameter keeps its last value.
+    **************************************************************/
+  static Map<String,String> parseQuery(String query) {
+    HashMap<String,String> params = new HashMap<String,String>();
+    if (query == null) return params;
+    for (String pair : query.split("&")) {
+      if (pair.length() == 0) continue;
+      int eq = pair.indexOf('=');
+      String key = (eq < 0) ? pair : pair.substring(0, eq);
+      String value = (eq < 0) ? "" : pair.substring(eq + 1);
+      params.put(URLDecoder.decode(key, StandardCharsets.UTF_8),
+                 URLDecoder.decode(value, StandardCharsets.UTF_8));
+    }
+    return params;
+  }
+
+
+  /****************************************************************
+    * main serves a recipe file, or runs a test against a server on
+    * a free port when no arguments are given.
+    **************************************************************/
+  public static void main(String[] args) throws Exception {
+    if (args.length > 0) {
+      String file = (args.length > 1) ? args[1] : "recipes0516.txt";
+      RecipeServer server = new RecipeServer(ReloadingCatalog.shared(file), Integer.parseInt(args[0]));
+      server.start();
+      System.out.println("Serving " + file + " on port " + server.getPort());
+      return;
+    }
+
+    RecipeServer server = new RecipeServer(RecipeCatalog.load("recipes0516.txt"), 0);
+    server.start();
+    final String base = "http://localhost:" + server.getPort();
+    try {
+      //testing each endpoint
+      System.out.println("Testing endpoints");
+      System.out.println("Expected: Bread, PB, Jelly\tActual: " + request(base + "/recipe?name=PBnJ", null));
+      System.out.println("Expected: Pancakes\tActual: " + request(base + "/search?q=pankakes", null));
+      System.out.println("Expected: score 2.0, have Bread, have PB, need Jelly\tActual: "
+                           + request(base + "/score?name=PBnJ", "PB\nBread\n"));
+      System.out.println("Expected: 1.0 PBnJ\tActual: "
+                           + request(base + "/top?k=1&strategy=coverage&fridge=PB,Jelly,Bread", null));
+
+      //testing errors
+      System.out.println("\nTesting errors");
+      System.out.println("Expected: 404\tActual: " + request(base + "/recipe?name=error", null));
+      System.out.println("Expected: 400\tActual: " + request(base + "/top?k=lots", null));
+      System.out.println("Expected: 400\tActual: " + request(base + "/top?strategy=best", null));
+
+      //testing many requests at once
+      System.out.println("\nTesting 1000 requests at once");
+      ExecutorService clients = newRequestExecutor();
+      ArrayList<Future<String>> answers = new ArrayList<Future<String>>();
+      for (int i = 0; i < 1000; i++) {
+        answers.add(clients.submit(new Callable<String>() {
+          public String call() throws IOException {
+            return request(base + "/top?k=1&fridge=Bread,Lettuce,Tomato", null);
+          }
+        }));
+      }
+      int same = 0;
+      for (Future<String> answer : answers) {
+        if (answer.get().equals(answers.get(0).get())) same++;
+      }
+      clients.shutdown();
+      System.out.println("Expected: 1000\tActual: " + same);
+      System.out.println("Expected: hit rate near 1\tActual: " + request(base + "/stats", null));
+    } finally {
+      server.stop(0);
+    }
+
+    //testing fridges with amounts
+    System.out.println("\nTesting amounts");
+    File measured = File.createTempFile("measured", ".txt");
+    measured.deleteOnExit();
+    Files.write(measured.toPath(), ("Omelette\n.\nEgg | 3\n.\nMilk | 50 ml\n#\n"
+                                      + "Boiled Egg\n.\nEgg | 1\n#\n").getBytes(StandardCharsets.UTF_8));
+    server = new RecipeServer(RecipeCatalog.load(measured.getPath()), 0);
+    server.start();
+    String measuredBase = "http://localhost:" + server.getPort();
+    try {
+      System.out.println("Expected: score 1.0, have Milk, need Egg\tActual: "
+                           + request(measuredBase + "/score?name=Omelette", "Egg | 2\nMilk | 1 cup\n"));
+      System.out.println("Expected: 1.0 Boiled Egg\tActual: "
+                           + request(measuredBase + "/top?k=1&strategy=coverage", "Egg | 2\nMilk | 1 cup\n"));
+      System.out.println("Expected: 1.0 Omelette\tActual: "
+                           + request(measuredBase + "/top?k=1&strategy=coverage", "Egg | 3\nMilk | 1 cup\n"));
+      System.out.println("Expected: 1.0 Omelette\tActual: "
+                           + request(measuredBase + "/top?k=1&strategy=coverage&fridge=Egg,Milk", null));
+      System.out.println("Expected: 1.0 Boiled Egg\tActual: "
+                           + request(measuredBase + "/top?k=1&strategy=coverage&fridge=Egg%7C1,Milk", null));
+    } finally {
+      server.stop(0);
+    }
+
+    //testing that a stopped server takes no more catalogs
+    System.out.println("\nTesting reloads after stop");
+    File file = File.createTempFile("recipes", ".txt");
+    file.deleteOnExit();
+    Files.write(file.toPath(), "Toast\n.\nBread\n#\n".getBytes(StandardCharsets.UTF_8));
+    ReloadingCatalog source = new ReloadingCatalog(file.getPath());
+    RecipeServer stopped = new RecipeServer(source, 0);
+    stopped.stop(0);
+    Files.write(file.toPath(), "Toast\n.\nBread\n#\nJam\n.\nJam\n#\n".getBytes(StandardCharsets.UTF_8));
+    file.setLastModified(file.lastModified() + 2000);
+    source.reload();
+    System.out.println("Expected: 2 1\tActual: " + source.get().size() + " " + stopped.snapshot.catalog.size());
+  }
+
+  /****************************************************************
+    * request sends a GET, or a POST of body if it is not null, and
+    * returns the answer on one line, or the status if it failed.
+    **************************************************************/
+  private static String request(String url, String body) throws IOException {
+    HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+    if (body != null) {
+      connection.setRequestMethod("POST");
+      connection.setDoOutput(true);
+      OutputStream out = connection.getOutputStream();
+      out.write(body.getBytes(StandardCharsets.UTF_8));
+      out.close();
+    }
+    int status = connection.getResponseCode();
+    if (status != 200) return String.valueOf(status);
+
+    BufferedReader in = new BufferedReader(
+      new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8));
+    StringBuilder text = new StringBuilder();
+    String line;
+    while ((line = in.readLine()) != null) {
+      if (text.length() > 0) text.append(", ");
+      text.append(line.replace('\t', ' '));
+    }
+    in.close();
+    return text.toString();
+  }
+}
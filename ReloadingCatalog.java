@@ -0,0 +1,324 @@
+/*****************************************************************
+  * FILE NAME: ReloadingCatalog.java
+  * WHO: Jenny Wang and Lily Xie
+  * WHEN: October 18, 2026
+  *
+  * WHAT: ReloadingCatalog holds the current RecipeCatalog of a
+  * recipe file and replaces it when the file changes, so recipes
+  * can be edited without restarting. A background thread watches
+  * the file's directory; when the file has been written and then
+  * left alone for a moment, the thread loads a whole new catalog
+  * (index, weights and name search included) and publishes it
+  * with a single atomic reference swap.
+  *
+  * Readers never wait: get is one read of an AtomicReference, and
+  * a reader keeps using the catalog it got for as long as it
+  * likes, since catalogs never change. All the work of a reload
+  * happens on the watcher thread before the swap, including the
+  * name search that a catalog otherwise builds on first use, so
+  * the first query after a reload is no slower than any other.
+  * If the new file cannot be read, the old catalog stays.
+  *
+  * Listeners are told about each new catalog after it has been
+  * published, on the watcher thread.
+  *
+  * Shared catalogs are only watched if their file exists when they
+  * are first asked for, so a wrong file name costs no thread.
+  * Closing a shared catalog stops its thread and forgets it, and
+  * closeShared closes them all.
+  ****************************************************************/
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.function.Consumer;
+import java.io.*;
+import java.nio.file.*;
+
+public class ReloadingCatalog {
+
+  private static final long QUIET_MILLIS = 200; //wait for writes to stop
+
+  //catalogs already made by shared, keyed by file name
+  private static HashMap<String, ReloadingCatalog> sharedCatalogs =
+    new HashMap<String, ReloadingCatalog>();
+
+  private final File file;
+  private final AtomicReference<RecipeCatalog> current;
+  private final CopyOnWriteArrayList<Consumer<RecipeCatalog>> listeners;
+  private volatile long loadedModified, loadedLength; //of the file last loaded
+  private volatile long reloads;
+  private Thread watcher;
+  private volatile boolean closed;
+
+  /****************************************************************
+    * Constructor loads fileName. It does not watch the file until
+    * start is called. A missing file gives an empty catalog, as
+    * RecipeCatalog.load does, which is replaced once the file
+    * appears.
+    *
+    * @param String fileName is the name of the recipe file
+    **************************************************************/
+  public ReloadingCatalog(String fileName) {
+    file = new File(fileName).getAbsoluteFile();
+    loadedModified = file.lastModified();
+    loadedLength = file.length();
+    current = new AtomicReference<RecipeCatalog>(RecipeCatalog.load(fileName));
+    listeners = new CopyOnWriteArrayList<Consumer<RecipeCatalog>>();
+  }
+
+  /****************************************************************
+    * shared returns the catalog of fileName, making it only the 
+    * first time any caller asks for it (or after it was closed),
+    * and watching it if the file exists.
+    *
+    * @param String fileName is the name of the recipe file
+    **************************************************************/
+  public static synchronized ReloadingCatalog shared(String fileName) {
+    ReloadingCatalog catalog = sharedCatalogs.get(fileName);
+    if (catalog == null) {
+      catalog = new ReloadingCatalog(fileName);
+      if (catalog.file.isFile()) catalog.start();
+      sharedCatalogs.put(fileName, catalog);
+    }
+    return catalog;
+  }
+
+  /****************************************************************
+    * closeShared closes every shared catalog (see close).
+    **************************************************************/
+  public static void closeShared() {
+    ArrayList<ReloadingCatalog> all;
+    synchronized (ReloadingCatalog.class) {
+      all = new ArrayList<ReloadingCatalog>(sharedCatalogs.values());
+    }
+    for (ReloadingCatalog catalog : all) catalog.close();
+  }
+
+  /****************************************************************
+    * get returns the current catalog.
+    **************************************************************/
+  public RecipeCatalog get() {
+    return current.get();
+  }
+
+  /****************************************************************
+    * addListener asks for listener to be given every new catalog.
+    *
+    * @param Consumer<RecipeCatalog> listener is told of new catalogs
+    **************************************************************/
+  public void addListener(Consumer<RecipeCatalog> listener) {
+    listeners.add(listener);
+  }
+
+  /****************************************************************
+    * removeListener stops giving listener new catalogs.
+    *
+    * @param Consumer<RecipeCatalog> listener was given to addListener
+    **************************************************************/
+  public void removeListener(Consumer<RecipeCatalog> listener) {
+    listeners.remove(listener);
+  }
+
+  /****************************************************************
+    * getReloads returns how many new catalogs have been published.
+    **************************************************************/
+  public long getReloads() {
+    return reloads;
+  }
+
+  /****************************************************************
+    * reload loads the file now if it changed since it was last
+    * loaded, publishes the new catalog and returns whether it did.
+    * It is called by the watcher thread, and can be called directly.
+    **************************************************************/
+  public synchronized boolean reload() {
+    long modified = file.lastModified();
+    long length = file.length();
+    if (modified == loadedModified && length == loadedLength) return false;
+
+    RecipeCatalog catalog;
+    try {
+      catalog = RecipeCatalog.read(file.getPath());
+    } catch (IOException e) {
+      System.out.println("Could not reload recipe file: " + e.getMessage());
+      return false;
+    }
+    catalog.getNameSearch(); //built here rather than by the first reader
+
+    loadedModified = modified;
+    loadedLength = length;
+    current.set(catalog);
+    reloads++;
+    for (Consumer<RecipeCatalog> listener : listeners) listener.accept(catalog);
+    return true;
+  }
+
+  /****************************************************************
+    * start starts the daemon thread that watches the file.
+    **************************************************************/
+  public synchronized void start() {
+    if (watcher != null) return;
+    watcher = new Thread(new Runnable() {
+      public void run() {
+        watch();
+      }
+    }, "recipe-reload-" + file.getName());
+    watcher.setDaemon(true);
+    watcher.start();
+  }
+
+  /****************************************************************
+    * isWatching returns whether the watcher thread is running.
+    **************************************************************/
+  public synchronized boolean isWatching() {
+    return watcher != null && watcher.isAlive();
+  }
+
+  /****************************************************************
+    * close stops watching the file and waits for the watcher
+    * thread to end. The current catalog can still be read. A 
+    * shared catalog is forgotten, so shared makes a new one.
+    **************************************************************/
+  public void close() {
+    closed = true;
+    synchronized (ReloadingCatalog.class) {
+      sharedCatalogs.values().remove(this);
+    }
+    Thread thread;
+    synchronized (this) {
+      thread = watcher;
+    }
+    if (thread != null && thread != Thread.currentThread()) {
+      thread.interrupt();
+      try {
+        thread.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /****************************************************************
+    * watch waits for events on the file's directory. After an
+    * event for the file it keeps draining events until none come
+    * for QUIET_MILLIS, so a file written in several pieces is
+    * loaded once, when complete.
+    **************************************************************/
+  private void watch() {
+    try {
+      WatchService service = FileSystems.getDefault().newWatchService();
+      try {
+        file.getParentFile().toPath().register(service,
+          StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        while (!closed) {
+          WatchKey key = service.take();
+          boolean changed = forFile(key);
+          while (changed) {
+            key = service.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS);
+            if (key == null) break;
+            forFile(key);
+          }
+          if (changed) reload();
+        }
+      } finally {
+        service.close();
+      }
+    } catch (InterruptedException e) {
+      //closed
+    } catch (ClosedWatchServiceException e) {
+      //closed
+    } catch (IOException e) {
+      System.out.println("Could not watch recipe file: " + e.getMessage());
+    }
+  }
+
+  /****************************************************************
+    * forFile returns whether any event of key is about the file,
+    * and resets key so it gets further events.
+    **************************************************************/
+  private boolean forFile(WatchKey key) {
+    boolean found = false;
+    for (WatchEvent<?> event : key.pollEvents()) {
+      Object context = event.context();
+      if (event.kind() == StandardWatchEventKinds.OVERFLOW
+            || (context instanceof Path && ((Path) context).toString().equals(file.getName()))) {
+        found = true;
+      }
+    }
+    key.reset();
+    return found;
+  }
+
+
+  public static void main(String[] args) throws Exception {
+    File dir = new File(System.getProperty("java.io.tmpdir"), "recipe-reload-test");
+    dir.mkdirs();
+    File recipes = new File(dir, "recipes.txt");
+    write(recipes, "Toast\n.\nBread\n#\n");
+    ReloadingCatalog test = new ReloadingCatalog(recipes.getPath());
+    test.start();
+    final ArrayList<RecipeCatalog> heard = new ArrayList<RecipeCatalog>();
+    test.addListener(catalog -> { synchronized (heard) { heard.add(catalog); } });
+
+    //testing the first load
+    System.out.println("Testing the first load");
+    RecipeCatalog first = test.get();
+    System.out.println("Expected: 1 recipes\tActual: " + first);
+
+    User user = new User("TEST", test);
+    user.addContent("Jam");
+
+    //testing a reload while reading
+    System.out.println("\nTesting a reload while reading");
+    final AtomicBoolean reading = new AtomicBoolean(true);
+    final long[] reads = {0};
+    Thread reader = new Thread(() -> {
+      while (reading.get()) {
+        if (test.get().find("Toast") != null) reads[0]++;
+      }
+    });
+    reader.start();
+    Thread.sleep(300); //lets the watcher register
+    write(recipes, "Toast\n.\nBread\n.\nButter\n#\nJam Toast\n.\nBread\n.\nJam\n#\n");
+    long end = System.currentTimeMillis() + 10000;
+    while (test.getReloads() == 0 && System.currentTimeMillis() < end) Thread.sleep(50);
+    Thread.sleep(100); //lets the listener run
+    reading.set(false);
+    reader.join();
+    System.out.println("Expected: 2 recipes\tActual: " + test.get());
+    System.out.println("Expected: true\tActual: " + (reads[0] > 0));
+    System.out.println("Expected: 1 reload heard\tActual: " + test.getReloads() + " reload heard "
+                         + (heard.size() == 1 && heard.get(0) == test.get()));
+    System.out.println("Expected: 1 recipes (old snapshot unchanged)\tActual: " + first);
+    System.out.println("Expected: [Jam Toast]\tActual: " + Arrays.toString(user.topRecipes(1)));
+
+    //testing an unchanged file
+    System.out.println("\nTesting an unchanged file");
+    System.out.println("Expected: false\tActual: " + test.reload());
+
+    //testing close
+    System.out.println("\nTesting close");
+    test.close();
+    System.out.println("Expected: false\tActual: " + test.isWatching());
+    System.out.println("Expected: false\tActual: " + shared("nonexistent.txt").isWatching());
+    ReloadingCatalog watched = shared(recipes.getPath());
+    System.out.println("Expected: true\tActual: " + watched.isWatching());
+    closeShared();
+    System.out.println("Expected: false true\tActual: " + watched.isWatching() + " "
+                         + (shared(recipes.getPath()) != watched));
+    closeShared();
+
+    recipes.delete();
+    dir.delete();
+  }
+
+  private static void write(File file, String text) throws IOException {
+    Writer out = new FileWriter(file);
+    try {
+      out.write(text);
+    } finally {
+      out.close();
+    }
+  }
+}
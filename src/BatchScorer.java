@@ -0,0 +1,413 @@
+/*****************************************************************
+  * FILE NAME: BatchScorer.java
+  * WHO: Jenny Wang and Lily Xie
+  * WHEN: October 18, 2026
+  *
+  * WHAT: BatchScorer finds the top k recipes for many fridges at
+  * once against one RecipeCatalog, for jobs that recommend to
+  * every stored fridge. Fridges are given as arrays of ingredient
+  * IDs and are cut into tiles of consecutive fridges, which run in
+  * parallel on a fork/join pool. Scratch arrays are kept in a pool
+  * and a tile borrows one set and reuses it for every fridge in
+  * the tile, so a fridge costs no allocation beyond its result. 
+  * Single fridges can be scored with top, which borrows from the
+  * same pool, so a server answering many requests at once only
+  * ever makes as many sets as requests run at the same time. A set
+  * costs about 16 bytes per recipe, so scorers can also be given a
+  * Semaphore that limits how many fridges they score at once
+  * (together, if they share it); a fridge over the limit waits for
+  * a set to come back, and no more sets than permits are ever made.
+  *
+  * A fridge is scored sparsely:
+  *  1) the posting lists of its ingredients give the matched count
+  *     and weight of every recipe it touches, and those recipes
+  *     are offered to a TopK with their real scores
+  *  2) a recipe the fridge does not touch always scores
+  *     strategy.score(length, 0, 0, totalWeight), whatever the
+  *     fridge. These baseline scores are sorted once, when the
+  *     BatchScorer is made, and only the best k untouched recipes
+  *     in that order are offered
+  *  3) only the touched recipes are reset for the next fridge
+  * So a fridge costs about as much as its posting lists rather
+  * than the whole catalog, and the result is exactly what
+  * FridgeScores.top would give for it.
+  *
+  * A single fridge can also say how much there is of each
+  * ingredient. An ingredient then only counts for the recipes it
+  * is enough for, as in FridgeScores, and a recipe it is not
+  * enough for is left untouched by it.
+  *
+  * A BatchScorer never changes once built and can be shared
+  * between threads.
+  ****************************************************************/
+
+import java.util.*;
+import java.util.concurrent.*;
+
+public class BatchScorer {
+
+  private static final int TILE = 256; //fridges per task
+
+  private final RecipeCatalog catalog;
+  private final ScoringStrategy strategy;
+  private final int k;
+  private final int[] byBaseline; //recipe IDs, best untouched score first
+  private final ConcurrentLinkedQueue<Scratch> spares; //scratch not in use
+  private final Semaphore limit; //null for no limit
+
+  /****************************************************************
+    * Scratch is one set of arrays, sized for the catalog.
+    **************************************************************/
+  private static class Scratch {
+    final int[] matched;
+    final double[] matchedWeights;
+    final int[] touched; //recipes with matched > 0, in touch order
+    final BitSet seen; //ingredients of the current fridge
+    final float[] have; //ingredient ID -> amount in the current fridge
+    final TopK best;
+
+    Scratch(int recipes, int ingredients, int k) {
+      matched = new int[recipes];
+      matchedWeights = new double[recipes];
+      touched = new int[recipes];
+      seen = new BitSet();
+      have = new float[ingredients];
+      best = new TopK(k);
+    }
+  }
+
+  /****************************************************************
+    * Constructor prepares to find the k best recipes of catalog
+    * under strategy, and sorts the recipes by their untouched
+    * score.
+    *
+    * @param RecipeCatalog catalog is the catalog being scored
+    * @param ScoringStrategy strategy scores each recipe
+    * @param int k is the number of recipes wanted per fridge
+    **************************************************************/
+  public BatchScorer(RecipeCatalog catalog, ScoringStrategy strategy, int k) {
+    this(catalog, strategy, k, null);
+  }
+
+  /****************************************************************
+    * Constructor is like the one above, but scores at most as many
+    * fridges at once as limit has permits, taking a permit for
+    * each fridge or tile being scored.
+    *
+    * @param RecipeCatalog catalog is the catalog being scored
+    * @param ScoringStrategy strategy scores each recipe
+    * @param int k is the number of recipes wanted per fridge
+    * @param Semaphore limit bounds the fridges scored at once, or
+    * is null for no bound
+    **************************************************************/
+  public BatchScorer(RecipeCatalog catalog, ScoringStrategy strategy, int k, Semaphore limit) {
+    this.catalog = catalog;
+    this.limit = limit;
+    this.strategy = strategy;
+    this.k = Math.max(k, 0);
+
+    double[] baseline = new double[catalog.size()];
+    for (int r = 0; r < baseline.length; r++) {
+      baseline[r] = strategy.score(catalog.length(r), 0, 0, catalog.totalWeight(r));
+    }
+
+    //ranks the distinct scores, best first, then sorts longs packing
+    //the rank and the recipe ID, so ties go to the earlier recipe
+    double[] distinct = baseline.clone();
+    Arrays.sort(distinct);
+    int distinctCount = 0;
+    for (double score : distinct) {
+      if (distinctCount == 0 || Double.compare(distinct[distinctCount - 1], score) != 0) {
+        distinct[distinctCount++] = score;
+      }
+    }
+    long[] keys = new long[baseline.length];
+    for (int r = 0; r < baseline.length; r++) {
+      long rank = distinctCount - 1 - Arrays.binarySearch(distinct, 0, distinctCount, baseline[r]);
+      keys[r] = (rank << 32) | r;
+    }
+    Arrays.sort(keys);
+    byBaseline = new int[keys.length];
+    for (int i = 0; i < keys.length; i++) byBaseline[i] = (int) keys[i];
+
+    spares = new ConcurrentLinkedQueue<Scratch>();
+  }
+
+  private Scratch borrow() {
+    if (limit != null) limit.acquireUninterruptibly();
+    Scratch s = spares.poll();
+    return (s != null) ? s : new Scratch(catalog.size(), catalog.getDictionary().size(), k);
+  }
+
+  private void giveBack(Scratch s) {
+    spares.offer(s);
+    if (limit != null) limit.release();
+  }
+
+  /****************************************************************
+    * score returns the IDs of the k best recipes for every fridge,
+    * best first, working on the common fork/join pool.
+    *
+    * @param int[][] fridges holds each fridge's ingredient IDs
+    **************************************************************/
+  public int[][] score(int[][] fridges) {
+    return score(fridges, ForkJoinPool.commonPool());
+  }
+
+  /****************************************************************
+    * score returns the IDs of the k best recipes for every fridge,
+    * best first, so results[i] is for fridges[i]. Ties go to the
+    * recipe earlier in the catalog. Repeated IDs in a fridge count
+    * once, and negative IDs (idOf of an unknown name) are skipped.
+    *
+    * @param int[][] fridges holds each fridge's ingredient IDs
+    * @param ForkJoinPool pool runs the tiles
+    **************************************************************/
+  public int[][] score(int[][] fridges, ForkJoinPool pool) {
+    int[][] results = new int[fridges.length][];
+    if (fridges.length <= TILE) new Tile(fridges, results, 0, fridges.length).compute();
+    else pool.invoke(new Tile(fridges, results, 0, fridges.length));
+    return results;
+  }
+
+  /****************************************************************
+    * top returns the IDs of the k best recipes for one fridge,
+    * best first, with the same rules as score. It is safe to call
+    * from many threads at once.
+    *
+    * @param int[] fridge holds the fridge's ingredient IDs
+    **************************************************************/
+  public int[] top(int[] fridge) {
+    return top(fridge, null);
+  }
+
+  /****************************************************************
+    * top returns the IDs of the k best recipes for one fridge that
+    * says how much there is of each ingredient, best first. 
+    * amounts[i] is how much there is of fridge[i], in the catalog's
+    * unit for it (see RecipeCatalog.amountOf), and positive
+    * infinity for enough of anything. An ingredient with an amount
+    * of 0 is not in the fridge, and a repeated ID takes its last
+    * amount, as with FridgeScores.add. Otherwise the rules are
+    * those of score, and the result is what FridgeScores.top would
+    * give for the same amounts. It is safe to call from many
+    * threads at once.
+    *
+    * @param int[] fridge holds the fridge's ingredient IDs
+    * @param float[] amounts holds how much there is of each, or is
+    * null to count every ingredient whatever the recipe needs
+    **************************************************************/
+  public int[] top(int[] fridge, float[] amounts) {
+    Scratch s = borrow();
+    try {
+      return top(fridge, amounts, s);
+    } finally {
+      giveBack(s);
+    }
+  }
+
+  /****************************************************************
+    * getStrategy returns the strategy recipes are scored by.
+    **************************************************************/
+  public ScoringStrategy getStrategy() {
+    return strategy;
+  }
+
+  /****************************************************************
+    * getK returns the number of recipes wanted per fridge.
+    **************************************************************/
+  public int getK() {
+    return k;
+  }
+
+  /****************************************************************
+    * getCatalog returns the catalog being scored.
+    **************************************************************/
+  public RecipeCatalog getCatalog() {
+    return catalog;
+  }
+
+  /****************************************************************
+    * toIds turns a fridge of ingredient names into the IDs score
+    * takes, using dictionary; unknown names become -1.
+    *
+    * @param Collection<String> names are the ingredients in the fridge
+    * @param IngredientDictionary dictionary is the catalog's dictionary
+    **************************************************************/
+  public static int[] toIds(Collection<String> names, IngredientDictionary dictionary) {
+    int[] ids = new int[names.size()];
+    int i = 0;
+    for (String name : names) ids[i++] = dictionary.idOf(name);
+    return ids;
+  }
+
+  /****************************************************************
+    * top finds the k best recipes for one fridge with the given
+    * scratch arrays, and leaves them reset. amounts is null to
+    * count by presence alone.
+    **************************************************************/
+  private int[] top(int[] fridge, float[] amounts, Scratch s) {
+    int ingredients = catalog.getDictionary().size();
+    if (amounts != null) {
+      for (int i = 0; i < fridge.length; i++) {
+        if (fridge[i] >= 0 && fridge[i] < ingredients) s.have[fridge[i]] = amounts[i];
+      }
+    }
+
+    int touchedCount = 0;
+    for (int id : fridge) {
+      if (id < 0 || id >= ingredients || s.seen.get(id)) continue;
+      s.seen.set(id);
+      double weight = catalog.weight(id);
+      int[] recipes = catalog.recipesWith(id);
+      float[] needs = (amounts == null) ? null : catalog.amountsWith(id);
+      float have = (amounts == null) ? Float.POSITIVE_INFINITY : s.have[id];
+      if (have <= 0) continue;
+      for (int j = 0; j < recipes.length; j++) {
+        if (needs != null && needs[j] > have) continue;
+        int r = recipes[j];
+        if (s.matched[r]++ == 0) s.touched[touchedCount++] = r;
+        s.matchedWeights[r] += weight;
+      }
+    }
+
+    TopK best = s.best;
+    best.clear();
+    for (int i = 0; i < touchedCount; i++) {
+      int r = s.touched[i];
+      best.offer(r, strategy.score(catalog.length(r), s.matched[r],
+                                   s.matchedWeights[r], catalog.totalWeight(r)));
+    }
+    int untouched = 0;
+    for (int i = 0; i < byBaseline.length && untouched < k; i++) {
+      int r = byBaseline[i];
+      if (s.matched[r] > 0) continue;
+      best.offer(r, strategy.score(catalog.length(r), 0, 0, catalog.totalWeight(r)));
+      untouched++;
+    }
+
+    for (int i = 0; i < touchedCount; i++) {
+      s.matched[s.touched[i]] = 0;
+      s.matchedWeights[s.touched[i]] = 0;
+    }
+    for (int id : fridge) {
+      if (id >= 0 && id < ingredients) {
+        s.seen.clear(id);
+        s.have[id] = 0;
+      }
+    }
+    return best.toArray();
+  }
+
+  /****************************************************************
+    * Tile scores fridges from start up to end, splitting in half
+    * until at most TILE fridges are left.
+    **************************************************************/
+  private class Tile extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int[][] fridges, results;
+    private final int start, end;
+
+    Tile(int[][] fridges, int[][] results, int start, int end) {
+      this.fridges = fridges;
+      this.results = results;
+      this.start = start;
+      this.end = end;
+    }
+
+    protected void compute() {
+      if (end - start <= TILE) {
+        Scratch s = borrow();
+        try {
+          for (int i = start; i < end; i++) results[i] = top(fridges[i], null, s);
+        } finally {
+          giveBack(s);
+        }
+        return;
+      }
+      int mid = (start + end) >>> 1;
+      invokeAll(new Tile(fridges, results, start, mid),
+                new Tile(fridges, results, mid, end));
+    }
+  }
+
+
+  public static void main(String[] args) {
+    RecipeCatalog catalog = RecipeCatalog.load("recipes0516.txt");
+    IngredientDictionary dictionary = catalog.getDictionary();
+    String[][] fridges = {
+      {"Lettuce", "Tomato", "Cheese", "Chicken", "Bread", "PB"},
+      {"PB", "Jelly", "PB", "nonexistent"},
+      {}
+    };
+    int[][] ids = new int[fridges.length * 1000][];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] = toIds(Arrays.asList(fridges[i % fridges.length]), dictionary);
+    }
+
+    //testing against FridgeScores for every strategy
+    System.out.println("Testing against FridgeScores");
+    ScoringStrategy[] strategies = {ScoringStrategy.MATCH_COUNT, ScoringStrategy.COVERAGE,
+      ScoringStrategy.FEWEST_MISSING, ScoringStrategy.RARITY};
+    boolean same = true;
+    for (ScoringStrategy strategy : strategies) {
+      int[][] results = new BatchScorer(catalog, strategy, 3).score(ids, new ForkJoinPool(4));
+      for (int i = 0; i < ids.length; i++) {
+        FridgeScores scores = new FridgeScores(catalog);
+        scores.setStrategy(strategy);
+        for (int id : ids[i]) if (id >= 0) scores.add(id);
+        same &= Arrays.equals(scores.top(3), results[i]);
+      }
+    }
+    System.out.println("Expected: true\tActual: " + same);
+
+    //testing one fridge
+    System.out.println("\nTesting one fridge by COVERAGE");
+    int[] top = new BatchScorer(catalog, ScoringStrategy.COVERAGE, 1).top(ids[1]);
+    System.out.println("Expected: PBnJ\tActual: " + catalog.get(top[0]).getName());
+
+    //testing a limit shared by two scorers
+    System.out.println("\nTesting a limit of 2 fridges at once");
+    Semaphore limit = new Semaphore(2);
+    BatchScorer limited = new BatchScorer(catalog, ScoringStrategy.COVERAGE, 3, limit);
+    int[][] results = limited.score(ids, new ForkJoinPool(4));
+    new BatchScorer(catalog, ScoringStrategy.RARITY, 3, limit).top(ids[0]);
+    same = true;
+    for (int i = 0; i < ids.length; i++) same &= Arrays.equals(results[i], limited.top(ids[i]));
+    System.out.println("Expected: true\tActual: " + same);
+    System.out.println("Expected: at most 2 sets, 2 permits\tActual: " + limited.spares.size() + " sets, "
+                         + limit.availablePermits() + " permits");
+
+    //testing amounts against FridgeScores
+    System.out.println("\nTesting amounts");
+    RecipeCatalog.Builder builder = new RecipeCatalog.Builder();
+    int egg = builder.getDictionary().intern("Egg");
+    int milk = builder.getDictionary().intern("Milk");
+    builder.addRecipe("Omelette", new int[] {egg, milk},
+                      new Quantity[] {Quantity.parse("3"), Quantity.parse("50 ml")}, 2);
+    builder.addRecipe("Boiled Egg", new int[] {egg}, new Quantity[] {Quantity.parse("1")}, 1);
+    builder.addRecipe("Milkshake", new int[] {milk}, new Quantity[] {Quantity.parse("1 cup")}, 1);
+    RecipeCatalog measured = builder.build();
+    int[] eggAndMilk = {egg, milk, egg};
+    float[][] amounts = {
+      {2, 100, 2}, {1, 300, 3}, {3, Float.POSITIVE_INFINITY, 0}, {5, 10, 0}
+    };
+    same = true;
+    for (ScoringStrategy strategy : strategies) {
+      BatchScorer scorer = new BatchScorer(measured, strategy, 2);
+      for (float[] amount : amounts) {
+        FridgeScores scores = new FridgeScores(measured);
+        scores.setStrategy(strategy);
+        for (int i = 0; i < eggAndMilk.length; i++) scores.add(eggAndMilk[i], amount[i]);
+        same &= Arrays.equals(scores.top(2), scorer.top(eggAndMilk, amount));
+      }
+    }
+    System.out.println("Expected: true\tActual: " + same);
+    top = new BatchScorer(measured, ScoringStrategy.COVERAGE, 1).top(eggAndMilk, amounts[1]);
+    System.out.println("Expected: Omelette\tActual: " + measured.get(top[0]).getName());
+    top = new BatchScorer(measured, ScoringStrategy.COVERAGE, 1).top(eggAndMilk, amounts[0]);
+    System.out.println("Expected: Boiled Egg\tActual: " + measured.get(top[0]).getName());
+  }
+}
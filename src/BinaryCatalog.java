@@ -0,0 +1,270 @@
+/*****************************************************************
+  * FILE NAME: BinaryCatalog.java
+  * WHO: Jenny Wang and Lily Xie
+  * WHEN: October 18, 2026
+  *
+  * WHAT: BinaryCatalog reads and writes a compact binary form of a
+  * RecipeCatalog, so that a large catalog can be compiled once
+  * from its .txt file and then loaded without parsing any text.
+  * All numbers are big-endian ints or floats. The layout 
+  * (version 3) is:
+  *
+  * magic            "RCAT"
+  * version          3
+  * ingredientCount
+  * recipeCount
+  * idCount          total ingredient IDs over all recipes
+  * folding          1 if names were case and plural folded, else 0
+  * aliasCount
+  * amounts          1 if the recipes give amounts, else 0
+  * ingredient names ingredientCount x (byte length, UTF-8 bytes)
+  * aliases          aliasCount x (variant key, canonical key), each
+  *                  as (byte length, UTF-8 bytes)
+  * recipe names     recipeCount x (byte length, UTF-8 bytes)
+  * offsets          recipeCount + 1 ints; recipe i's IDs are
+  *                  ids[offsets[i]] up to ids[offsets[i + 1]]
+  * ids              idCount ints, sorted within each recipe
+  * needs            only if amounts is 1: idCount floats, how much
+  *                  of each ingredient in ids is needed, 0 for none
+  * units            only if amounts is 1: ingredientCount ints, the
+  *                  Quantity.Dimension ordinal of each ingredient
+  *
+  * Ingredient names are stored in ID order, and the normalizer
+  * they were matched with is stored too, so IDs in the file are
+  * the dictionary IDs of the loaded catalog and user input is
+  * matched the same way as when the file was written. Version 1
+  * files, which have no folding or aliases, are read with exact
+  * matching; version 1 and 2 files have no amounts. Loading is a
+  * bulk copy of the int and float tables plus decoding the names.
+  * Files are memory-mapped whole, so they must be smaller than
+  * 2 GB.
+  *
+  * Run main to compile a .txt recipe file:
+  *   java BinaryCatalog recipes0516.txt recipes0516.rcat
+  ****************************************************************/
+
+import java.util.*;
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+public class BinaryCatalog {
+
+  public static final int MAGIC = 0x52434154; //"RCAT"
+  public static final int VERSION = 3;
+
+  /****************************************************************
+    * isBinary returns whether fileName starts with the binary
+    * catalog magic number. Missing or short files are not binary.
+    *
+    * @param String fileName is the file being checked
+    **************************************************************/
+  public static boolean isBinary(String fileName) {
+    try {
+      DataInputStream in = new DataInputStream(new FileInputStream(fileName));
+      try {
+        return in.readInt() == MAGIC;
+      } finally {
+        in.close();
+      }
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /****************************************************************
+    * write saves catalog to fileName in the binary format.
+    *
+    * @param RecipeCatalog catalog is the catalog being saved
+    * @param String fileName is the file being written
+    **************************************************************/
+  public static void write(RecipeCatalog catalog, String fileName) throws IOException {
+    IngredientDictionary dictionary = catalog.getDictionary();
+    int idCount = 0;
+    for (int r = 0; r < catalog.size(); r++) idCount += catalog.get(r).length();
+
+    DataOutputStream out = new DataOutputStream(
+      new BufferedOutputStream(new FileOutputStream(fileName), 1 << 16));
+    try {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      out.writeInt(dictionary.size());
+      out.writeInt(catalog.size());
+      out.writeInt(idCount);
+      IngredientNormalizer normalizer = dictionary.getNormalizer();
+      out.writeInt(normalizer.isFolding() ? 1 : 0);
+      out.writeInt(normalizer.getAliases().size());
+      out.writeInt(catalog.hasAmounts() ? 1 : 0);
+
+      for (int id = 0; id < dictionary.size(); id++) writeName(out, dictionary.nameOf(id));
+      for (Map.Entry<String, String> alias : normalizer.getAliases().entrySet()) {
+        writeName(out, alias.getKey());
+        writeName(out, alias.getValue());
+      }
+      for (int r = 0; r < catalog.size(); r++) writeName(out, catalog.get(r).getName());
+
+      int offset = 0;
+      out.writeInt(offset);
+      for (int r = 0; r < catalog.size(); r++) {
+        offset += catalog.get(r).length();
+        out.writeInt(offset);
+      }
+
+      for (int r = 0; r < catalog.size(); r++) {
+        Recipe recipe = catalog.get(r);
+        for (int i = 0; i < recipe.length(); i++) out.writeInt(recipe.ingredientAt(i));
+      }
+
+      if (catalog.hasAmounts()) {
+        for (int r = 0; r < catalog.size(); r++) {
+          Recipe recipe = catalog.get(r);
+          for (int i = 0; i < recipe.length(); i++) out.writeFloat(recipe.amountAt(i));
+        }
+        for (int id = 0; id < dictionary.size(); id++) out.writeInt(catalog.unitOf(id).ordinal());
+      }
+    } finally {
+      out.close();
+    }
+  }
+
+  /****************************************************************
+    * read loads a catalog from a binary file. It throws an
+    * IOException if the file is not a binary catalog of a version
+    * this class knows.
+    *
+    * @param String fileName is the file being read
+    **************************************************************/
+  public static RecipeCatalog read(String fileName) throws IOException {
+    FileInputStream in = new FileInputStream(fileName);
+    try {
+      FileChannel channel = in.getChannel();
+      if (channel.size() > Integer.MAX_VALUE)
+        throw new IOException("Binary catalog over 2 GB: " + fileName);
+      ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+      if (buf.getInt() != MAGIC) throw new IOException("Not a binary catalog: " + fileName);
+      int version = buf.getInt();
+      if (version < 1 || version > VERSION)
+        throw new IOException("Unsupported binary catalog version " + version + ": " + fileName);
+
+      int ingredientCount = buf.getInt();
+      int recipeCount = buf.getInt();
+      int idCount = buf.getInt();
+      boolean folding = version > 1 && buf.getInt() == 1;
+      int aliasCount = (version > 1) ? buf.getInt() : 0;
+      boolean hasAmounts = version > 2 && buf.getInt() == 1;
+
+      String[] ingredients = new String[ingredientCount];
+      for (int id = 0; id < ingredientCount; id++) ingredients[id] = readName(buf);
+      HashMap<String, String> aliases = new HashMap<String, String>();
+      for (int a = 0; a < aliasCount; a++) aliases.put(readName(buf), readName(buf));
+
+      RecipeCatalog.Builder builder = new RecipeCatalog.Builder(
+        folding ? new IngredientNormalizer(aliases) : IngredientNormalizer.EXACT);
+      IngredientDictionary dictionary = builder.getDictionary();
+      for (String ingredient : ingredients) dictionary.intern(ingredient);
+
+      String[] names = new String[recipeCount];
+      for (int r = 0; r < recipeCount; r++) names[r] = readName(buf);
+
+      int[] offsets = new int[recipeCount + 1];
+      buf.asIntBuffer().get(offsets);
+      buf.position(buf.position() + 4 * offsets.length);
+      int[] ids = new int[idCount];
+      buf.asIntBuffer().get(ids);
+
+      float[] needs = null;
+      byte[] dimensions = null;
+      if (hasAmounts) {
+        buf.position(buf.position() + 4 * ids.length);
+        needs = new float[idCount];
+        buf.asFloatBuffer().get(needs);
+        buf.position(buf.position() + 4 * needs.length);
+        int[] units = new int[ingredientCount];
+        buf.asIntBuffer().get(units);
+        //every amount is in its ingredient's unit, so build picks the same units
+        dimensions = new byte[idCount];
+        for (int p = 0; p < idCount; p++) {
+          if (needs[p] > 0) dimensions[p] = (byte) units[ids[p]];
+        }
+      }
+
+      for (int r = 0; r < recipeCount; r++) {
+        builder.addSortedRecipe(names[r], ids, needs, dimensions, offsets[r], offsets[r + 1] - offsets[r]);
+      }
+      return builder.build();
+
+    } catch (BufferUnderflowException e) {
+      throw new IOException("Truncated binary catalog: " + fileName);
+    } finally {
+      in.close();
+    }
+  }
+
+  private static void writeName(DataOutputStream out, String name) throws IOException {
+    byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readName(ByteBuffer buf) {
+    byte[] bytes = new byte[buf.getInt()];
+    buf.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+
+  /****************************************************************
+    * main compiles a .txt recipe file into a binary catalog, or
+    * runs a round-trip test when no arguments are given.
+    **************************************************************/
+  public static void main(String[] args) throws IOException {
+    if (args.length == 2) {
+      RecipeCatalog catalog = ParallelRecipeLoader.load(args[0]);
+      write(catalog, args[1]);
+      System.out.println("Wrote " + catalog + " to " + args[1]);
+      return;
+    }
+
+    //testing write and read
+    System.out.println("Testing write and read");
+    RecipeCatalog text = RecipeCatalog.load("recipes0516.txt");
+    File file = File.createTempFile("recipes", ".rcat");
+    file.deleteOnExit();
+    write(text, file.getPath());
+    RecipeCatalog binary = read(file.getPath());
+    System.out.println("Expected: " + text + "\tActual: " + binary);
+    System.out.println("Expected: " + text.get(4) + "\tActual: " + binary.get(4));
+
+    //testing isBinary and load
+    System.out.println("\nTesting isBinary and load");
+    System.out.println("Expected: false\tActual: " + isBinary("recipes0516.txt"));
+    System.out.println("Expected: true\tActual: " + isBinary(file.getPath()));
+    System.out.println("Expected: 10 recipes\tActual: " + RecipeCatalog.load(file.getPath()));
+
+    //testing that the normalizer is written and read back
+    System.out.println("\nTesting the stored normalizer");
+    RecipeCatalog.Builder builder = new RecipeCatalog.Builder(
+      new IngredientNormalizer(Collections.singletonMap("PB", "Peanut Butter")));
+    builder.addRecipe("PBnJ", Arrays.asList("Bread", "PB", "Jelly"));
+    write(builder.build(), file.getPath());
+    IngredientDictionary dictionary = read(file.getPath()).getDictionary();
+    System.out.println("Expected: PB\tActual: " + dictionary.nameOf(dictionary.idOf("peanut butter")));
+    System.out.println("Expected: 0\tActual: " + dictionary.idOf("BREADS"));
+
+    //testing that amounts are written and read back
+    System.out.println("\nTesting amounts");
+    builder = new RecipeCatalog.Builder();
+    int egg = builder.getDictionary().intern("Egg"), milk = builder.getDictionary().intern("Milk");
+    builder.addRecipe("Omelette", new int[] {milk, egg},
+                      new Quantity[] {Quantity.parse("1/4 cup"), Quantity.parse("3")}, 2);
+    builder.addRecipe("Toast", Arrays.asList("Bread"));
+    write(builder.build(), file.getPath());
+    RecipeCatalog measured = read(file.getPath());
+    System.out.println("Expected: 3.0 59.147\tActual: " + measured.get(0).amountAt(0) + " "
+                         + measured.get(0).amountAt(1));
+    System.out.println("Expected: VOLUME NONE\tActual: " + measured.unitOf(milk) + " "
+                         + measured.unitOf(measured.getDictionary().idOf("Bread")));
+  }
+}
@@ -0,0 +1,326 @@
+/*****************************************************************
+  * FILE NAME: FridgeScores.java
+  * WHO: Jenny Wang and Lily Xie
+  * WHEN: October 18, 2026
+  *
+  * WHAT: FridgeScores holds the scores of every recipe in a
+  * RecipeCatalog for one fridge. The fridge is a BitSet over
+  * ingredient IDs, and for every recipe ID it keeps, in primitive
+  * arrays, how many of the recipe's ingredients are in the fridge
+  * and the summed rarity weight of those ingredients, which stays
+  * exact however often ingredients come and go (see
+  * RecipeCatalog.weight). A ScoringStrategy turns these into the
+  * score recipes are ranked by; the default, MATCH_COUNT, is the
+  * number matched.
+  *
+  * The fridge may also say how much of an ingredient there is, in
+  * the catalog's unit for it (see RecipeCatalog.amountOf). A
+  * recipe's ingredient is then only matched if there is at least
+  * as much as the recipe needs. The amounts recipes need are kept
+  * by the catalog next to its posting lists, so this costs one
+  * float comparison per recipe on top of the membership update,
+  * and nothing at all for ingredients without amounts. Since all
+  * of this state lives here and not in the catalog, any number of
+  * FridgeScores can read the same catalog at the same time. A
+  * single FridgeScores is not thread-safe.
+  * This class contains methods to:
+  *  - Add or remove an ingredient, updating only the recipes
+  *    that use it
+  *  - Recalculate everything from the fridge
+  *  - Choose the ScoringStrategy
+  *  - Get a recipe's score, or the IDs of the best k recipes
+  ****************************************************************/
+
+import java.util.*;
+
+public class FridgeScores {
+
+  private final RecipeCatalog catalog;
+  private final BitSet fridge; //ingredient IDs in the fridge
+  private final float[] amounts; //ingredient ID -> how much is in the fridge
+  private final int[] matched; //recipe ID -> matched ingredients
+  private final double[] matchedWeights; //recipe ID -> their summed weights
+  private ScoringStrategy strategy;
+
+  /****************************************************************
+    * Constructor creates scores for an empty fridge, so nothing
+    * is matched yet, ranked by ScoringStrategy.MATCH_COUNT.
+    *
+    * @param RecipeCatalog catalog is the catalog being scored
+    **************************************************************/
+  public FridgeScores(RecipeCatalog catalog) {
+    this.catalog = catalog;
+    fridge = new BitSet(catalog.getDictionary().size());
+    amounts = new float[catalog.getDictionary().size()];
+    matched = new int[catalog.size()];
+    matchedWeights = new double[catalog.size()];
+    strategy = ScoringStrategy.MATCH_COUNT;
+  }
+
+  /****************************************************************
+    * add puts an ingredient in the fridge, with enough of it for
+    * any recipe, and updates every recipe that uses it. Adding an
+    * ingredient that is already there does nothing. Returns 
+    * whether the fridge changed.
+    *
+    * @param int ingredientId is the ingredient's dictionary ID
+    **************************************************************/
+  public boolean add(int ingredientId) {
+    if (fridge.get(ingredientId)) return false;
+    return add(ingredientId, Float.POSITIVE_INFINITY);
+  }
+
+  /****************************************************************
+    * add puts amount of an ingredient in the fridge and updates
+    * every recipe that uses it; recipes needing more than amount
+    * do not count it as matched. If the ingredient is already in
+    * the fridge, its amount is replaced; an amount of 0 or less
+    * takes it out. Returns whether the fridge changed.
+    *
+    * @param int ingredientId is the ingredient's dictionary ID
+    * @param float amount is how much there is, in the catalog's unit
+    **************************************************************/
+  public boolean add(int ingredientId, float amount) {
+    if (!(amount > 0)) return remove(ingredientId);
+    if (fridge.get(ingredientId)) {
+      if (amounts[ingredientId] == amount) return false;
+      remove(ingredientId);
+    }
+    fridge.set(ingredientId);
+    amounts[ingredientId] = amount;
+    update(ingredientId, 1);
+    return true;
+  }
+
+  /****************************************************************
+    * remove takes an ingredient out of the fridge and updates
+    * every recipe that uses it. Returns whether the fridge changed.
+    *
+    * @param int ingredientId is the ingredient's dictionary ID
+    **************************************************************/
+  public boolean remove(int ingredientId) {
+    if (!fridge.get(ingredientId)) return false;
+    update(ingredientId, -1);
+    fridge.clear(ingredientId);
+    return true;
+  }
+
+  /****************************************************************
+    * recalculate sets every count and weight from scratch by 
+    * walking the posting list of each ingredient in the fridge.
+    **************************************************************/
+  public void recalculate() {
+    Arrays.fill(matched, 0);
+    Arrays.fill(matchedWeights, 0);
+    for (int id = fridge.nextSetBit(0); id >= 0; id = fridge.nextSetBit(id + 1)) update(id, 1);
+  }
+
+  /****************************************************************
+    * update adds (sign 1) or takes away (sign -1) an ingredient in
+    * the fridge from every recipe it is enough for.
+    **************************************************************/
+  private void update(int ingredientId, int sign) {
+    double weight = sign * catalog.weight(ingredientId);
+    int[] recipes = catalog.recipesWith(ingredientId);
+    float[] needs = catalog.amountsWith(ingredientId);
+    float have = amounts[ingredientId];
+    if (needs == null || have == Float.POSITIVE_INFINITY) {
+      for (int r : recipes) {
+        matched[r] += sign;
+        matchedWeights[r] += weight;
+      }
+    }
+    else {
+      for (int j = 0; j < recipes.length; j++) {
+        if (needs[j] <= have) {
+          matched[recipes[j]] += sign;
+          matchedWeights[recipes[j]] += weight;
+        }
+      }
+    }
+  }
+
+  /****************************************************************
+    * contains returns whether the ingredient is in the fridge.
+    *
+    * @param int ingredientId is the ingredient's dictionary ID
+    **************************************************************/
+  public boolean contains(int ingredientId) {
+    return fridge.get(ingredientId);
+  }
+
+  /****************************************************************
+    * getAmount returns how much of an ingredient is in the fridge,
+    * positive infinity if it was added without an amount, or 0 if
+    * it is not there.
+    *
+    * @param int ingredientId is the ingredient's dictionary ID
+    **************************************************************/
+  public float getAmount(int ingredientId) {
+    return fridge.get(ingredientId) ? amounts[ingredientId] : 0;
+  }
+
+  /****************************************************************
+    * getAmounts returns a copy of how much of every ingredient is
+    * in the fridge, indexed by ingredient ID: 0 if it is not
+    * there, positive infinity if it was added without an amount.
+    * This is the fridge that amount-aware queries such as
+    * RecipeCatalog.makeable and Recipe.getAvailable take.
+    **************************************************************/
+  public float[] getAmounts() {
+    float[] copy = new float[amounts.length];
+    for (int id = fridge.nextSetBit(0); id >= 0; id = fridge.nextSetBit(id + 1)) copy[id] = amounts[id];
+    return copy;
+  }
+
+  /****************************************************************
+    * getFridge returns a copy of the fridge as a BitSet over
+    * ingredient IDs. It only says which ingredients are there, not
+    * how much; see getAmounts.
+    **************************************************************/
+  public BitSet getFridge() {
+    return (BitSet) fridge.clone();
+  }
+
+  /****************************************************************
+    * setStrategy changes how recipes are scored from now on.
+    *
+    * @param ScoringStrategy strategy is the new strategy
+    **************************************************************/
+  public void setStrategy(ScoringStrategy strategy) {
+    this.strategy = strategy;
+  }
+
+  /****************************************************************
+    * getStrategy returns the strategy recipes are scored by.
+    **************************************************************/
+  public ScoringStrategy getStrategy() {
+    return strategy;
+  }
+
+  /****************************************************************
+    * getMatched returns how many ingredients of the recipe with
+    * the given ID are in the fridge.
+    *
+    * @param int recipeId is the recipe's ID in the catalog
+    **************************************************************/
+  public int getMatched(int recipeId) {
+    return matched[recipeId];
+  }
+
+  /****************************************************************
+    * getScore returns the score of the recipe with the given ID
+    * under the current strategy.
+    *
+    * @param int recipeId is the recipe's ID in the catalog
+    **************************************************************/
+  public double getScore(int recipeId) {
+    return strategy.score(catalog.length(recipeId), matched[recipeId],
+                          matchedWeights[recipeId], catalog.totalWeight(recipeId));
+  }
+
+  /****************************************************************
+    * top returns the IDs of the k highest scoring recipes under
+    * the current strategy, best first, with ties going to the
+    * recipe earlier in the catalog.
+    *
+    * @param int k is the number of recipes wanted
+    **************************************************************/
+  public int[] top(int k) {
+    TopK best = new TopK(k);
+    ScoringStrategy s = strategy;
+    for (int r = 0; r < matched.length; r++) {
+      best.offer(r, s.score(catalog.length(r), matched[r], matchedWeights[r], catalog.totalWeight(r)));
+    }
+    return best.toArray();
+  }
+
+  /****************************************************************
+    * ranking returns a Comparator that puts Recipes of this
+    * catalog in the same order as top: higher score under the
+    * current strategy first, then earlier in the catalog.
+    **************************************************************/
+  public Comparator<Recipe> ranking() {
+    return new Comparator<Recipe>() {
+      public int compare(Recipe a, Recipe b) {
+        int byScore = Double.compare(getScore(b.getId()), getScore(a.getId()));
+        return (byScore != 0) ? byScore : a.compareTo(b);
+      }
+    };
+  }
+
+  /****************************************************************
+    * getCatalog returns the catalog these scores are for.
+    **************************************************************/
+  public RecipeCatalog getCatalog() {
+    return catalog;
+  }
+
+
+  public static void main(String[] args) {
+    RecipeCatalog catalog = RecipeCatalog.load("recipes0516.txt");
+    IngredientDictionary dictionary = catalog.getDictionary();
+    FridgeScores test = new FridgeScores(catalog);
+    String[] fridge = {"Lettuce", "Tomato", "Cheese", "Chicken", "Bread", "PB"};
+    for (String item : fridge) test.add(dictionary.idOf(item));
+
+    //testing each strategy
+    System.out.println("Testing strategies");
+    System.out.println("Expected: Caesar Salad (tied with Ham Sandwich, first in file)\tActual: " 
+                         + catalog.get(test.top(1)[0]).getName());
+    test.setStrategy(ScoringStrategy.COVERAGE);
+    System.out.println("Expected: PBnJ\tActual: " + catalog.get(test.top(1)[0]).getName());
+    test.setStrategy(ScoringStrategy.FEWEST_MISSING);
+    System.out.println("Expected: -1.0\tActual: " + test.getScore(catalog.find("PBnJ").getId()));
+    test.setStrategy(ScoringStrategy.RARITY);
+    System.out.println("Expected: Caesar Salad\tActual: " + catalog.get(test.top(1)[0]).getName());
+
+    //testing ranking
+    System.out.println("\nTesting ranking by COVERAGE");
+    test.setStrategy(ScoringStrategy.COVERAGE);
+    ArrayList<Recipe> recipes = new ArrayList<Recipe>();
+    for (int r = 0; r < catalog.size(); r++) recipes.add(catalog.get(r));
+    Collections.sort(recipes, test.ranking());
+    System.out.println("Expected: PBnJ\tActual: " + recipes.get(0).getName());
+
+    //testing amounts
+    System.out.println("\nTesting amounts");
+    RecipeCatalog.Builder builder = new RecipeCatalog.Builder();
+    int egg = builder.getDictionary().intern("Egg");
+    builder.addRecipe("Omelette", new int[] {egg}, new Quantity[] {Quantity.parse("3")}, 1);
+    builder.addRecipe("Boiled Egg", new int[] {egg}, new Quantity[] {Quantity.parse("1")}, 1);
+    RecipeCatalog measured = builder.build();
+    FridgeScores pantry = new FridgeScores(measured);
+    pantry.add(egg, 2);
+    System.out.println("Expected: 0 1\tActual: " + pantry.getMatched(0) + " " + pantry.getMatched(1));
+    pantry.add(egg, 3);
+    System.out.println("Expected: 1 1 3.0\tActual: " + pantry.getMatched(0) + " " + pantry.getMatched(1)
+                         + " " + pantry.getAmount(egg));
+    System.out.println("Expected: 1.0 1.0\tActual: " + measured.score(0, pantry.getAmounts(), ScoringStrategy.MATCH_COUNT)
+                         + " " + measured.score(1, pantry.getAmounts(), ScoringStrategy.MATCH_COUNT));
+    pantry.add(egg, 0);
+    System.out.println("Expected: 0 0 false\tActual: " + pantry.getMatched(0) + " " + pantry.getMatched(1)
+                         + " " + pantry.contains(egg));
+    pantry.add(egg, 2);
+    System.out.println("Expected: 0.0 1.0\tActual: " + measured.score(0, pantry.getAmounts(), ScoringStrategy.MATCH_COUNT)
+                         + " " + measured.score(1, pantry.getAmounts(), ScoringStrategy.MATCH_COUNT));
+    pantry.remove(egg);
+    System.out.println("Expected: 0 0\tActual: " + pantry.getMatched(0) + " " + pantry.getMatched(1));
+
+    //testing that adding and removing leaves exactly the recalculated scores
+    System.out.println("\nTesting add, remove and add against recalculate");
+    test.setStrategy(ScoringStrategy.RARITY);
+    Random random = new Random(42);
+    for (int round = 0; round < 1000; round++) {
+      int id = random.nextInt(dictionary.size());
+      if (!test.remove(id)) test.add(id);
+    }
+    FridgeScores fresh = new FridgeScores(catalog);
+    fresh.setStrategy(ScoringStrategy.RARITY);
+    BitSet kept = test.getFridge();
+    for (int id = kept.nextSetBit(0); id >= 0; id = kept.nextSetBit(id + 1)) fresh.add(id);
+    boolean same = true;
+    for (int r = 0; r < catalog.size(); r++) same &= test.getScore(r) == fresh.getScore(r);
+    System.out.println("Expected: true\tActual: " + (same && Arrays.equals(test.top(5), fresh.top(5))));
+  }
+}
@@ -0,0 +1,101 @@
+/**
+ * FILE NAME: ImageCache.java
+ * WHO: Jenny Wang & Lily Xie
+ * WHAT: Decodes the pictures shown in the GUI on a background thread, so that the window
+ * can appear before they are ready, and keeps each one after it is decoded.
+ * WHEN: October 18 2026
+ */
+
+import java.util.concurrent.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import javax.swing.*;
+import javax.imageio.ImageIO;
+import java.io.*;
+
+/**
+ * Every picture is read once per size, scaled down to fit the size it is shown at, and
+ * drawn into an image in the screen's own format, so painting it later is a plain copy.
+ * The results are kept by file name and size, so asking again gives the same image
+ * straight away. show puts a picture into a JLabel once it is ready; until then the
+ * label says it is loading, and if the file cannot be read it says so instead of
+ * stopping the program.
+ */
+public class ImageCache {
+  private static final ConcurrentHashMap<String, Future<ImageIcon>> icons =
+    new ConcurrentHashMap<String, Future<ImageIcon>>();
+  private static final ExecutorService decoder = Executors.newSingleThreadExecutor(task -> {
+    Thread thread = new Thread(task, "image-decoder");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  /**
+   * get returns the picture in fileName scaled to fit maxWidth by maxHeight, decoding
+   * it in the background the first time it is asked for.
+   */
+  public static Future<ImageIcon> get(final String fileName, final int maxWidth, final int maxHeight) {
+    String key = fileName + "@" + maxWidth + "x" + maxHeight;
+    Future<ImageIcon> icon = icons.get(key);
+    if(icon == null) {
+      FutureTask<ImageIcon> task = new FutureTask<ImageIcon>(() -> decode(fileName, maxWidth, maxHeight));
+      icon = icons.putIfAbsent(key, task);
+      if(icon == null) {
+        icon = task;
+        decoder.execute(task);
+      }
+    }
+    return icon;
+  }
+
+  /**
+   * show sets label's icon to the picture in fileName once it is decoded.
+   */
+  public static void show(final JLabel label, String fileName, int maxWidth, int maxHeight) {
+    final Future<ImageIcon> icon = get(fileName, maxWidth, maxHeight);
+    if(icon.isDone()) {
+      setIcon(label, icon);
+      return;
+    }
+    label.setText("Loading...");
+    decoder.execute(() -> SwingUtilities.invokeLater(() -> setIcon(label, icon)));
+  }
+
+  private static void setIcon(JLabel label, Future<ImageIcon> icon) {
+    try {
+      label.setIcon(icon.get());
+      label.setText(null);
+    } catch (Exception e) {
+      label.setText("(picture not found)");
+    }
+  }
+
+  /**
+   * decode reads fileName and draws it, scaled down if it is too big, into an image
+   * in the screen's format.
+   */
+  private static ImageIcon decode(String fileName, int maxWidth, int maxHeight) throws IOException {
+    BufferedImage read = ImageIO.read(new File(fileName));
+    if(read == null) {
+      throw new IOException("Not a picture: " + fileName);
+    }
+    double scale = Math.min(1.0, Math.min((double) maxWidth / read.getWidth(),
+                                          (double) maxHeight / read.getHeight()));
+    int width = Math.max(1, (int) Math.round(read.getWidth() * scale));
+    int height = Math.max(1, (int) Math.round(read.getHeight() * scale));
+
+    BufferedImage image;
+    if(GraphicsEnvironment.isHeadless()) {
+      image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    }
+    else {
+      image = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+        .getDefaultConfiguration().createCompatibleImage(width, height);
+    }
+    Graphics2D g = image.createGraphics();
+    g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+    g.drawImage(read, 0, 0, width, height, null);
+    g.dispose();
+    return new ImageIcon(image);
+  }
+}
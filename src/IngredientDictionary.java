@@ -0,0 +1,162 @@
+/*****************************************************************
+  * FILE NAME: IngredientDictionary.java
+  * WHO: Jenny Wang and Lily Xie
+  * WHEN: October 18, 2026
+  *
+  * WHAT: IngredientDictionary assigns every distinct ingredient
+  * name a dense integer ID (0, 1, 2, ...) in the order the names
+  * are first seen. Recipes and fridges store these IDs instead of
+  * Strings, so that checking whether an ingredient is used is an
+  * integer comparison or a bit test instead of String.equals.
+  *
+  * Names are matched by their IngredientNormalizer key, so "Eggs"
+  * and "egg" (and any aliases) share one ID, which is shown by the
+  * first spelling seen. Normalizing happens when a name is turned
+  * into an ID, never when IDs are compared.
+  * This class contains methods to:
+  *  - Intern a name, giving back its ID
+  *  - Look up the ID of a name, or the name of an ID
+  *  - Get the number of distinct ingredients
+  *  - Freeze the dictionary once a catalog has been built, after
+  *    which it is read-only and safe to share between threads
+  ****************************************************************/
+
+import java.util.*;
+
+public class IngredientDictionary {
+
+  private final IngredientNormalizer normalizer;
+  private HashMap<String, Integer> ids; //normalized key -> ID
+  private ArrayList<String> names; //ID -> name
+  private boolean frozen; //no new names once true
+
+  /****************************************************************
+    * Constructor creates an empty IngredientDictionary that
+    * matches names with IngredientNormalizer.standard().
+    **************************************************************/
+  public IngredientDictionary() {
+    this(IngredientNormalizer.standard());
+  }
+
+  /****************************************************************
+    * Second constructor creates an empty IngredientDictionary that
+    * matches names with the given normalizer.
+    *
+    * @param IngredientNormalizer normalizer makes names into keys
+    **************************************************************/
+  public IngredientDictionary(IngredientNormalizer normalizer) {
+    this.normalizer = normalizer;
+    ids = new HashMap<String, Integer>();
+    names = new ArrayList<String>();
+  }
+
+  /****************************************************************
+    * intern returns the ID of the ingredient name, adding it to
+    * the dictionary with the next free ID if no name with the
+    * same key has been seen before. A frozen dictionary throws an 
+    * IllegalStateException instead of adding a new name.
+    *
+    * @param String name is the ingredient being interned
+    **************************************************************/
+  public int intern(String name) {
+    String key = normalizer.key(name);
+    Integer id = ids.get(key);
+    if (id != null) return id;
+    if (frozen) throw new IllegalStateException("Dictionary is frozen: " + name);
+
+    int newId = names.size();
+    ids.put(key, newId);
+    names.add(name);
+    return newId;
+  }
+
+  /****************************************************************
+    * freeze makes the dictionary read-only. It is called when a
+    * RecipeCatalog is built, so that the catalog can be shared.
+    **************************************************************/
+  public void freeze() {
+    frozen = true;
+  }
+
+  /****************************************************************
+    * idOf returns the ID of the ingredient name, or -1 if no name
+    * with the same key is in the dictionary. Unlike intern, it 
+    * never adds to the dictionary.
+    *
+    * @param String name is the ingredient being looked up
+    **************************************************************/
+  public int idOf(String name) {
+    Integer id = ids.get(normalizer.key(name));
+    return (id == null) ? -1 : id;
+  }
+
+  /****************************************************************
+    * nameOf returns the ingredient name with the given ID.
+    *
+    * @param int id is the ID being looked up
+    **************************************************************/
+  public String nameOf(int id) {
+    return names.get(id);
+  }
+
+  /****************************************************************
+    * getNormalizer returns the normalizer names are matched with.
+    **************************************************************/
+  public IngredientNormalizer getNormalizer() {
+    return normalizer;
+  }
+
+  /****************************************************************
+    * size returns the number of distinct ingredients, which is
+    * also one more than the largest ID handed out.
+    **************************************************************/
+  public int size() {
+    return names.size();
+  }
+
+  /****************************************************************
+    * toString returns a String representation of the dictionary
+    * as its names in ID order.
+    **************************************************************/
+  public String toString() {
+    return names.toString();
+  }
+
+
+  public static void main(String[] args) {
+    IngredientDictionary test = new IngredientDictionary();
+
+    //testing intern
+    System.out.println("Testing intern");
+    System.out.println("Expected: 0\tActual: " + test.intern("flour"));
+    System.out.println("Expected: 1\tActual: " + test.intern("egg"));
+    System.out.println("Expected: 0\tActual: " + test.intern("flour"));
+
+    //testing idOf and nameOf
+    System.out.println("\nTesting idOf and nameOf");
+    System.out.println("Expected: 1\tActual: " + test.idOf("egg"));
+    System.out.println("Expected: -1\tActual: " + test.idOf("milk"));
+    System.out.println("Expected: egg\tActual: " + test.nameOf(1));
+    System.out.println("Expected: 2\tActual: " + test.size());
+
+    //testing normalization
+    System.out.println("\nTesting normalization");
+    System.out.println("Expected: 1\tActual: " + test.intern("Eggs"));
+    System.out.println("Expected: 0\tActual: " + test.idOf(" FLOUR"));
+    System.out.println("Expected: egg\tActual: " + test.nameOf(test.idOf("EGGS")));
+    IngredientDictionary exact = new IngredientDictionary(IngredientNormalizer.EXACT);
+    exact.intern("egg");
+    System.out.println("Expected: -1\tActual: " + exact.idOf("Eggs"));
+
+    //testing freeze
+    System.out.println("\nTesting freeze");
+    test.freeze();
+    System.out.println("Expected: 1\tActual: " + test.intern("egg"));
+    try {
+      test.intern("milk");
+      System.out.println("Expected: exception\tActual: none");
+    } catch (IllegalStateException e) {
+      System.out.println("Expected: exception\tActual: " + e.getMessage());
+    }
+  }
+}
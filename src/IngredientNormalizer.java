@@ -0,0 +1,247 @@
+/*****************************************************************
+  * FILE NAME: IngredientNormalizer.java
+  * WHO: Jenny Wang and Lily Xie
+  * WHEN: October 18, 2026
+  *
+  * WHAT: IngredientNormalizer turns the different ways of writing
+  * an ingredient into one key, so that "Eggs", "egg" and " EGG "
+  * are the same ingredient, and "PB" can be made the same as
+  * "Peanut Butter". An IngredientDictionary gives one ID to all
+  * the names with the same key, so the work is done once per
+  * spelling when a catalog is loaded (or when a user adds an
+  * item), and matching a fridge against recipes stays a bit test.
+  *
+  * A key is made by:
+  *  1) trimming the name and collapsing runs of spaces
+  *  2) folding it to lower case
+  *  3) making the last word singular with a few English rules:
+  *     berries -> berry, tomatoes -> tomato, peaches -> peach,
+  *     glasses -> glass, beans -> bean; words ending in "ss",
+  *     "us" or "is" (swiss, asparagus, ...) are left alone, as are
+  *     a few words that only look plural (molasses), and the words
+  *     whose singular ends in "ie" (cookies -> cookie) are listed
+  *  4) replacing it by its alias, if it has one
+  * Aliases are given as pairs of names, which are made into keys
+  * themselves, so "pb = Peanut Butter" also covers "PBs". Chains
+  * (a = b, b = c) are followed to the end. A normalizer never
+  * changes once made, so it can be shared between threads.
+  *
+  * The alias file read by standard is plain text, one alias per
+  * line, as "variant = canonical name"; blank lines and lines
+  * starting with "//" are skipped.
+  ****************************************************************/
+
+import java.util.*;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+
+public class IngredientNormalizer {
+
+  /****************************************************************
+    * EXACT keeps every name as it is, so only identical Strings
+    * are the same ingredient, as before normalization existed.
+    **************************************************************/
+  public static final IngredientNormalizer EXACT = new IngredientNormalizer(false, Collections.<String, String>emptyMap());
+
+  //plurals of words ending in "ie", which the "ies" -> "y" rule gets wrong
+  private static final HashSet<String> IE_PLURALS = new HashSet<String>(Arrays.asList(
+    "cookies", "brownies", "veggies", "smoothies", "pies", "potpies", "hoagies", "pierogies",
+    "calories", "rotisseries", "birdies", "goalies", "sweeties", "beanies"));
+
+  //words that end in "s" but are not plurals
+  private static final HashSet<String> NOT_PLURALS = new HashSet<String>(Arrays.asList(
+    "molasses", "series", "species"));
+
+  private static IngredientNormalizer standard; //for standardFile
+  private static String standardFile;
+
+  private final boolean folding;
+  private final HashMap<String, String> aliases; //key -> canonical key
+
+  /****************************************************************
+    * Constructor creates a normalizer that folds case and plurals
+    * and has the given aliases.
+    *
+    * @param Map<String, String> aliases maps variants to the names
+    * they stand for
+    **************************************************************/
+  public IngredientNormalizer(Map<String, String> aliases) {
+    this(true, aliases);
+  }
+
+  private IngredientNormalizer(boolean folding, Map<String, String> aliases) {
+    this.folding = folding;
+    HashMap<String, String> keys = new HashMap<String, String>();
+    for (Map.Entry<String, String> alias : aliases.entrySet()) {
+      String variant = fold(alias.getKey()), canonical = fold(alias.getValue());
+      if (!variant.equals(canonical)) keys.put(variant, canonical);
+    }
+
+    this.aliases = new HashMap<String, String>();
+    for (String variant : keys.keySet()) {
+      String canonical = keys.get(variant);
+      //follow chains, stopping if one comes back round
+      for (int steps = 0; keys.containsKey(canonical) && steps < keys.size(); steps++) {
+        canonical = keys.get(canonical);
+      }
+      this.aliases.put(variant, canonical);
+    }
+  }
+
+  /****************************************************************
+    * standard returns the normalizer catalogs are loaded with: case
+    * and plural folding, and the aliases in the file named by the
+    * system property recipe.aliases, if it is set. The file is
+    * read once. If it cannot be read, an error message is printed
+    * and no aliases are used.
+    **************************************************************/
+  public static synchronized IngredientNormalizer standard() {
+    String file = System.getProperty("recipe.aliases", "");
+    if (standard == null || !file.equals(standardFile)) {
+      Map<String, String> aliases = Collections.emptyMap();
+      if (file.length() > 0) {
+        try {
+          aliases = readAliases(file);
+        } catch (IOException e) {
+          System.out.println("Could not read alias file: " + e.getMessage());
+        }
+      }
+      standard = new IngredientNormalizer(aliases);
+      standardFile = file;
+    }
+    return standard;
+  }
+
+  /****************************************************************
+    * readAliases reads an alias file (see above) into a map from
+    * variant to canonical name, in file order.
+    *
+    * @param String fileName is the name of the alias file
+    **************************************************************/
+  public static Map<String, String> readAliases(String fileName) throws IOException {
+    LinkedHashMap<String, String> aliases = new LinkedHashMap<String, String>();
+    for (String line : Files.readAllLines(Paths.get(fileName), StandardCharsets.UTF_8)) {
+      line = line.trim();
+      if (line.length() == 0 || line.startsWith("//")) continue;
+      int equals = line.indexOf('=');
+      if (equals < 0) throw new IOException("Expected variant = canonical in " + fileName + ": " + line);
+      aliases.put(line.substring(0, equals), line.substring(equals + 1));
+    }
+    return aliases;
+  }
+
+  /****************************************************************
+    * key returns the key of an ingredient name. Names with the
+    * same key are the same ingredient.
+    *
+    * @param String name is the ingredient name
+    **************************************************************/
+  public String key(String name) {
+    if (!folding) return name;
+    String key = fold(name);
+    String canonical = aliases.get(key);
+    return (canonical == null) ? key : canonical;
+  }
+
+  /****************************************************************
+    * getAliases returns the aliases as a map from variant key to
+    * canonical key, for writing them out.
+    **************************************************************/
+  public Map<String, String> getAliases() {
+    return Collections.unmodifiableMap(aliases);
+  }
+
+  /****************************************************************
+    * isFolding returns whether case and plurals are folded, that
+    * is, whether this is not EXACT.
+    **************************************************************/
+  public boolean isFolding() {
+    return folding;
+  }
+
+  /****************************************************************
+    * fold does steps 1 to 3 of making a key.
+    **************************************************************/
+  private static String fold(String name) {
+    StringBuilder folded = new StringBuilder(name.length());
+    boolean space = false;
+    for (int i = 0; i < name.length(); i++) {
+      char c = name.charAt(i);
+      if (Character.isWhitespace(c)) {
+        space = folded.length() > 0;
+      }
+      else {
+        if (space) folded.append(' ');
+        folded.append(c);
+        space = false;
+      }
+    }
+    String lower = folded.toString().toLowerCase(Locale.ROOT);
+    return singular(lower);
+  }
+
+  /****************************************************************
+    * singular makes the last word of a lower case name singular.
+    **************************************************************/
+  private static String singular(String name) {
+    int word = name.lastIndexOf(' ') + 1;
+    int length = name.length() - word;
+    if (length < 3 || !name.endsWith("s")) return name;
+    if (name.endsWith("ss") || name.endsWith("us") || name.endsWith("is")) return name;
+    String last = name.substring(word);
+    if (NOT_PLURALS.contains(last)) return name;
+
+    if (IE_PLURALS.contains(last)) return name.substring(0, name.length() - 1);
+    if (name.endsWith("ies") && length > 4) return name.substring(0, name.length() - 3) + "y";
+    if (name.endsWith("oes") || name.endsWith("ches") || name.endsWith("shes")
+          || name.endsWith("xes") || name.endsWith("zes") || name.endsWith("sses")) {
+      return name.substring(0, name.length() - 2);
+    }
+    return name.substring(0, name.length() - 1);
+  }
+
+
+  public static void main(String[] args) throws IOException {
+    IngredientNormalizer test = new IngredientNormalizer(Collections.<String, String>emptyMap());
+
+    //testing case and space folding
+    System.out.println("Testing case and space folding");
+    System.out.println("Expected: peanut butter\tActual: " + test.key("  Peanut   BUTTER "));
+    System.out.println("Expected: true\tActual: " + test.key("Egg").equals(test.key("egg")));
+
+    //testing plurals
+    System.out.println("\nTesting plurals");
+    String[] plurals = {"Eggs", "Berries", "Tomatoes", "Peaches", "Boxes", "Green Beans",
+                        "Swiss", "Asparagus", "Peas", "Glasses", "Cookies", "Brownies", "Veggies",
+                        "Smoothies", "Molasses"};
+    StringBuilder keys = new StringBuilder();
+    for (String plural : plurals) keys.append(test.key(plural)).append(", ");
+    System.out.println("Expected: egg, berry, tomato, peach, box, green bean, swiss, asparagus, pea, glass, "
+                         + "cookie, brownie, veggie, smoothie, molasses, \tActual: " + keys);
+    System.out.println("Expected: true\tActual: " + test.key("Cookie").equals(test.key("Cookies")));
+    System.out.println("Expected: true\tActual: " + test.key("egg").equals(test.key(test.key("Eggs"))));
+
+    //testing aliases
+    System.out.println("\nTesting aliases");
+    Map<String, String> aliases = new LinkedHashMap<String, String>();
+    aliases.put("PB", "Peanut Butter");
+    aliases.put("Scallions", "Green Onion");
+    aliases.put("Spring Onion", "Scallion");
+    IngredientNormalizer aliased = new IngredientNormalizer(aliases);
+    System.out.println("Expected: peanut butter\tActual: " + aliased.key("pb"));
+    System.out.println("Expected: peanut butter\tActual: " + aliased.key("PBs"));
+    System.out.println("Expected: green onion\tActual: " + aliased.key("Spring onions"));
+    System.out.println("Expected: PB\tActual: " + EXACT.key("PB"));
+
+    //testing readAliases
+    System.out.println("\nTesting readAliases");
+    File file = File.createTempFile("aliases", ".txt");
+    file.deleteOnExit();
+    Files.write(file.toPath(), Arrays.asList("// shorthand", "PB = Peanut Butter", "", "Jam = Jelly"),
+                StandardCharsets.UTF_8);
+    IngredientNormalizer read = new IngredientNormalizer(readAliases(file.getPath()));
+    System.out.println("Expected: jelly\tActual: " + read.key("jams"));
+    System.out.println("Expected: 2\tActual: " + read.getAliases().size());
+  }
+}
@@ -0,0 +1,240 @@
+/**
+ * FILE NAME: IngredientPicker.java
+ * WHO: Jenny Wang & Lily Xie
+ * WHAT: A list of every ingredient in a recipe catalog that the user ticks to say what
+ * is in their fridge. The most used ingredients come first, and typing in the filter
+ * field above the list narrows it to the ingredients whose names contain the text.
+ * WHEN: October 18 2026
+ */
+
+import java.util.*;
+import java.awt.*;
+import java.awt.event.*;
+import javax.swing.*;
+import javax.swing.event.*;
+
+/**
+ * The list is a JList over a model that holds only ingredient IDs in primitive arrays,
+ * and every row has the same height, so Swing only ever makes and paints the rows that
+ * are on screen. Filtering is one pass over lower-cased names kept from the start, so
+ * the picker stays quick with tens of thousands of ingredients. Ticked ingredients are
+ * kept in a BitSet, and stay ticked when they are filtered out of view. When the recipes
+ * are reloaded, setCatalog rebuilds the model for the new catalog's ingredient IDs.
+ */
+public class IngredientPicker extends JPanel {
+  private static final long serialVersionUID = 1L;
+  private RecipeCatalog catalog;
+  private IngredientModel model;
+  private BitSet picked;
+  private JTextField filter;
+  private JList<Integer> list;
+
+  public IngredientPicker(RecipeCatalog c) {
+    catalog = c;
+    picked = new BitSet(catalog.getDictionary().size());
+    model = new IngredientModel();
+    setBackground(Color.WHITE);
+    setLayout (new BorderLayout());
+
+    JPanel top = new JPanel(new FlowLayout());
+    top.setBackground(Color.WHITE);
+    JLabel label = new JLabel("Find an ingredient: ");
+    label.setFont (new Font ("Trebuchet MS", Font.PLAIN, 12));
+    top.add(label);
+    filter = new JTextField(15);
+    filter.getDocument().addDocumentListener (new FilterListener());
+    top.add(filter);
+    add(top, BorderLayout.NORTH);
+
+    list = new JList<Integer>(model);
+    list.setCellRenderer (new IngredientRenderer());
+    list.setFixedCellWidth(280);
+    list.setFixedCellHeight(22);
+    list.setVisibleRowCount(8);
+    list.setLayoutOrientation(JList.VERTICAL);
+    list.addMouseListener (new ToggleListener());
+    list.addKeyListener (new ToggleListener());
+    JScrollPane pane = new JScrollPane(list);
+    pane.setPreferredSize(new Dimension(300, 180));
+    add(pane, BorderLayout.CENTER);
+  }
+
+  /**
+   * getPicked returns the names of the ticked ingredients.
+   */
+  public java.util.List<String> getPicked() {
+    ArrayList<String> names = new ArrayList<String>();
+    for(int id = picked.nextSetBit(0); id >= 0; id = picked.nextSetBit(id + 1)) {
+      names.add(catalog.getDictionary().nameOf(id));
+    }
+    return names;
+  }
+
+  /**
+   * setPicked ticks or unticks the ingredient with the given name, if the catalog
+   * has it.
+   */
+  public void setPicked(String name, boolean isPicked) {
+    int id = catalog.getDictionary().idOf(name);
+    if(id >= 0) {
+      picked.set(id, isPicked);
+      list.repaint();
+    }
+  }
+
+  /**
+   * setCatalog lists the ingredients of a new catalog, such as one reloaded from the
+   * recipe file. Its ingredient IDs differ from the old ones, so the ticked ingredients
+   * are carried over by name, dropping any the new catalog lacks, and the filter is
+   * applied again. It must be called on the event dispatch thread.
+   */
+  public void setCatalog(RecipeCatalog c) {
+    if(c == catalog) {
+      return;
+    }
+    java.util.List<String> names = getPicked();
+    catalog = c;
+    picked = new BitSet(catalog.getDictionary().size());
+    for(String name : names) {
+      int id = catalog.getDictionary().idOf(name);
+      if(id >= 0) {
+        picked.set(id);
+      }
+    }
+    model = new IngredientModel();
+    model.filter(filter.getText());
+    list.setModel(model);
+  }
+
+  /**
+   * setFilter shows only the ingredients whose names contain text.
+   */
+  public void setFilter(String text) {
+    filter.setText(text);
+  }
+
+  /**
+   * getShownCount returns how many ingredients are in the list right now.
+   */
+  public int getShownCount() {
+    return model.getSize();
+  }
+
+  /**
+   * The IngredientModel holds every ingredient ID ordered by how many recipes use it,
+   * and the ones currently shown. The order is found once by sorting longs that pack
+   * the count and the ID together, so no objects are made per ingredient.
+   */
+  private class IngredientModel extends AbstractListModel<Integer> {
+    private static final long serialVersionUID = 1L;
+    private int[] ordered; // every ingredient ID, most used first
+    private String[] lowerNames; // by ingredient ID
+    private int[] shown; // the IDs that pass the filter, in order
+    private int shownCount;
+
+    IngredientModel() {
+      IngredientDictionary dictionary = catalog.getDictionary();
+      long[] keys = new long[dictionary.size()];
+      lowerNames = new String[dictionary.size()];
+      for(int id = 0; id < keys.length; id++) {
+        keys[id] = ((long) (Integer.MAX_VALUE - catalog.frequency(id)) << 32) | id;
+        lowerNames[id] = dictionary.nameOf(id).toLowerCase();
+      }
+      Arrays.sort(keys);
+      ordered = new int[keys.length];
+      for(int i = 0; i < keys.length; i++) {
+        ordered[i] = (int) keys[i];
+      }
+      shown = ordered.clone();
+      shownCount = shown.length;
+    }
+
+    void filter(String text) {
+      String wanted = text.trim().toLowerCase();
+      int oldCount = shownCount;
+      shownCount = 0;
+      for(int id : ordered) {
+        if(wanted.length() == 0 || lowerNames[id].contains(wanted)) {
+          shown[shownCount++] = id;
+        }
+      }
+      if(oldCount > 0) {
+        fireIntervalRemoved(this, 0, oldCount - 1);
+      }
+      if(shownCount > 0) {
+        fireIntervalAdded(this, 0, shownCount - 1);
+      }
+    }
+
+    public int getSize() {
+      return shownCount;
+    }
+
+    public Integer getElementAt(int index) {
+      return shown[index];
+    }
+  }
+
+  /**
+   * The IngredientRenderer draws a row as a check box with the ingredient's name
+   * and how many recipes use it. One check box is reused for every row.
+   */
+  private class IngredientRenderer extends JCheckBox implements ListCellRenderer<Integer> {
+    private static final long serialVersionUID = 1L;
+
+    IngredientRenderer() {
+      setFont (new Font ("Trebuchet MS", Font.PLAIN, 12));
+    }
+
+    public Component getListCellRendererComponent(JList<? extends Integer> list, Integer id,
+                                                  int index, boolean isSelected, boolean hasFocus) {
+      setText(catalog.getDictionary().nameOf(id) + " (" + catalog.frequency(id) + ")");
+      setSelected(picked.get(id));
+      setBackground(isSelected ? list.getSelectionBackground() : Color.WHITE);
+      return this;
+    }
+  }
+
+  /**
+   * The ToggleListener ticks or unticks an ingredient when its row is clicked, or when
+   * space is pressed on the selected row.
+   */
+  private class ToggleListener extends MouseAdapter implements KeyListener {
+
+    public void mouseClicked (MouseEvent event) {
+      int index = list.locationToIndex(event.getPoint());
+      if(index >= 0 && list.getCellBounds(index, index).contains(event.getPoint())) {
+        toggle(index);
+      }
+    }
+
+    public void keyPressed (KeyEvent event) {
+      if(event.getKeyCode() == KeyEvent.VK_SPACE && list.getSelectedIndex() >= 0) {
+        toggle(list.getSelectedIndex());
+      }
+    }
+
+    public void keyReleased (KeyEvent event) { }
+    public void keyTyped (KeyEvent event) { }
+
+    private void toggle(int index) {
+      int id = model.getElementAt(index);
+      picked.flip(id);
+      list.repaint(list.getCellBounds(index, index));
+    }
+  }
+
+  /**
+   * The FilterListener refilters the list every time the filter text changes.
+   */
+  private class FilterListener implements DocumentListener {
+
+    public void insertUpdate (DocumentEvent event) { update(); }
+    public void removeUpdate (DocumentEvent event) { update(); }
+    public void changedUpdate (DocumentEvent event) { update(); }
+
+    private void update() {
+      model.filter(filter.getText());
+    }
+  }
+}
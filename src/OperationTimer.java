@@ -0,0 +1,151 @@
+/*****************************************************************
+  * FILE NAME: OperationTimer.java
+  * WHO: Jenny Wang and Lily Xie
+  * WHEN: October 18, 2026
+  *
+  * WHAT: OperationTimer counts and times one kind of operation,
+  * such as loading a catalog or finding the top recipes. Each
+  * call is timed with start and stop:
+  *
+  *   long start = RecipeMetrics.TOP_RECIPES.start();
+  *   ...
+  *   RecipeMetrics.TOP_RECIPES.stop(start);
+  *
+  * Latencies go into a histogram of 64 power-of-two buckets of
+  * nanoseconds, so recording is a few atomic adds with no locks
+  * and no allocation, and percentiles are read from the buckets.
+  * When RecipeMetrics tracks allocations, the bytes allocated by
+  * the calling thread between start and stop are added up too.
+  *
+  * An OperationTimer is thread-safe and is registered with JMX by
+  * RecipeMetrics.
+  ****************************************************************/
+
+import java.util.concurrent.atomic.*;
+
+public class OperationTimer implements OperationTimerMBean {
+
+  private static final int BUCKETS = 64; //bucket b holds times below 2^b ns
+
+  private final String name;
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong totalNanos = new AtomicLong();
+  private final AtomicLong maxNanos = new AtomicLong();
+  private final AtomicLong allocatedBytes = new AtomicLong();
+  private final ThreadLocal<long[]> allocatedAtStart = ThreadLocal.withInitial(() -> new long[1]);
+
+  /****************************************************************
+    * Constructor creates a timer with nothing recorded.
+    *
+    * @param String name names the operation, as in "findInList"
+    **************************************************************/
+  OperationTimer(String name) {
+    this.name = name;
+  }
+
+  /****************************************************************
+    * start returns the time to pass to stop when the operation
+    * ends.
+    **************************************************************/
+  public long start() {
+    if (RecipeMetrics.isTracking()) allocatedAtStart.get()[0] = RecipeMetrics.allocatedBytes();
+    return System.nanoTime();
+  }
+
+  /****************************************************************
+    * stop records one operation that began at start.
+    *
+    * @param long start is what start returned
+    **************************************************************/
+  public void stop(long start) {
+    long nanos = Math.max(System.nanoTime() - start, 0);
+    if (RecipeMetrics.isTracking()) {
+      long bytes = RecipeMetrics.allocatedBytes() - allocatedAtStart.get()[0];
+      if (bytes > 0) allocatedBytes.addAndGet(bytes);
+    }
+    buckets.incrementAndGet(Math.min(64 - Long.numberOfLeadingZeros(nanos), BUCKETS - 1));
+    count.incrementAndGet();
+    totalNanos.addAndGet(nanos);
+    long max;
+    while (nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos)) { }
+  }
+
+  /****************************************************************
+    * getName returns the name of the operation.
+    **************************************************************/
+  public String getName() {
+    return name;
+  }
+
+  public long getCount() {
+    return count.get();
+  }
+
+  public double getMeanMicros() {
+    long n = count.get();
+    return (n == 0) ? 0 : totalNanos.get() / 1000.0 / n;
+  }
+
+  public double getMaxMicros() {
+    return maxNanos.get() / 1000.0;
+  }
+
+  public double getP50Micros() {
+    return percentileMicros(0.50);
+  }
+
+  public double getP99Micros() {
+    return percentileMicros(0.99);
+  }
+
+  public long getAllocatedBytes() {
+    return allocatedBytes.get();
+  }
+
+  /****************************************************************
+    * percentileMicros returns the upper bound of the bucket that
+    * holds the given fraction of recorded times, or 0 if nothing
+    * has been recorded.
+    *
+    * @param double fraction is from 0 to 1
+    **************************************************************/
+  public double percentileMicros(double fraction) {
+    long[] counts = new long[BUCKETS];
+    long n = 0;
+    for (int b = 0; b < BUCKETS; b++) {
+      counts[b] = buckets.get(b);
+      n += counts[b];
+    }
+    if (n == 0) return 0;
+
+    long wanted = (long) Math.ceil(fraction * n);
+    long seen = 0;
+    for (int b = 0; b < BUCKETS; b++) {
+      seen += counts[b];
+      if (seen >= wanted && counts[b] > 0) return Math.min(1L << b, maxNanos.get()) / 1000.0;
+    }
+    return getMaxMicros();
+  }
+
+  /****************************************************************
+    * reset forgets everything recorded.
+    **************************************************************/
+  public void reset() {
+    for (int b = 0; b < BUCKETS; b++) buckets.set(b, 0);
+    count.set(0);
+    totalNanos.set(0);
+    maxNanos.set(0);
+    allocatedBytes.set(0);
+  }
+
+  /****************************************************************
+    * toString returns the timer's numbers on one line.
+    **************************************************************/
+  public String toString() {
+    return String.format("%-16s count %d, mean %.1f us, p50 %.1f us, p99 %.1f us, max %.1f us, "
+                           + "allocated %d bytes",
+                         name, getCount(), getMeanMicros(), getP50Micros(), getP99Micros(),
+                         getMaxMicros(), getAllocatedBytes());
+  }
+}
@@ -0,0 +1,201 @@
+/*****************************************************************
+  * FILE NAME: ParallelRecipeLoader.java
+  * WHO: Jenny Wang and Lily Xie
+  * WHEN: October 18, 2026
+  *
+  * WHAT: ParallelRecipeLoader loads a large recipe file on all
+  * cores. The file is cut into chunks that each start right after
+  * a '#' line, so no recipe is split between two chunks. Every
+  * chunk is mapped and parsed by its own RecipeFileParser into its
+  * own RecipeCatalog.Builder on a fork/join pool, and the chunks
+  * are then merged in file order, so recipe IDs and ingredient
+  * IDs come out the same as with a single parser.
+  *
+  * Small files are parsed as a single chunk.
+  ****************************************************************/
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+
+public class ParallelRecipeLoader {
+
+  private static final long MIN_CHUNK = 1L << 24; //16 MB
+  private static final long MAX_CHUNK = 1L << 30; //1 GB, well under the 2 GB map limit
+  private static final int SCAN_WINDOW = 1 << 16; //bytes mapped while looking for '#'
+
+  /****************************************************************
+    * load parses fileName on the common fork/join pool.
+    *
+    * @param String fileName is the name of the recipe file
+    **************************************************************/
+  public static RecipeCatalog load(String fileName) throws IOException {
+    return load(new File(fileName), ForkJoinPool.commonPool(), MIN_CHUNK);
+  }
+
+  /****************************************************************
+    * load parses file on pool, with chunks of at least minChunk
+    * bytes. It throws a FileNotFoundException if the file is
+    * missing.
+    *
+    * @param File file is the recipe file
+    * @param ForkJoinPool pool runs the chunk parsers
+    * @param long minChunk is the smallest chunk worth a task
+    **************************************************************/
+  public static RecipeCatalog load(File file, ForkJoinPool pool, long minChunk) throws IOException {
+    FileInputStream in = new FileInputStream(file);
+    try {
+      FileChannel channel = in.getChannel();
+      long size = channel.size();
+
+      //aims for a few chunks per worker so that uneven chunks even out
+      long chunk = size / (4L * pool.getParallelism());
+      chunk = Math.min(MAX_CHUNK, Math.max(minChunk, chunk));
+
+      ArrayList<ChunkTask> tasks = new ArrayList<ChunkTask>();
+      long start = 0;
+      while (start < size) {
+        long end = (size - start <= chunk) ? size : findBoundary(channel, size, start + chunk);
+        tasks.add(new ChunkTask(channel, start, end));
+        start = end;
+      }
+
+      if (tasks.isEmpty()) return new RecipeCatalog.Builder().build();
+      if (tasks.size() == 1) tasks.get(0).invoke();
+      else pool.invoke(new ChunkGroup(tasks));
+
+      //merges in file order so IDs match a sequential load
+      RecipeCatalog.Builder builder = new RecipeCatalog.Builder();
+      for (ChunkTask task : tasks) builder.addAll(task.getResult());
+      return builder.build();
+
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    } finally {
+      in.close();
+    }
+  }
+
+  /****************************************************************
+    * findBoundary returns the file position just after the first
+    * line consisting of '#' that starts at or after position, or
+    * size if there is none.
+    **************************************************************/
+  static long findBoundary(FileChannel channel, long size, long position) throws IOException {
+    long windowStart = position - 1; //one byte back, to see the previous '\n'
+
+    while (windowStart < size) {
+      int length = (int) Math.min(SCAN_WINDOW, size - windowStart);
+      MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, length);
+
+      for (int i = 1; i < length; i++) {
+        if (window.get(i) != '#' || window.get(i - 1) != '\n') continue;
+
+        //the '#' must be the whole line
+        long after = windowStart + i + 1;
+        int next = (i + 1 < length) ? window.get(i + 1) : -1;
+        if (after == size) return size;
+        if (next == '\n') return after + 1;
+        if (next == '\r' && i + 2 < length && window.get(i + 2) == '\n') return after + 2;
+      }
+
+      //keeps the last two bytes so a '#' line across windows is seen
+      if (windowStart + length == size) break;
+      windowStart += length - 2;
+    }
+    return size;
+  }
+
+
+  /****************************************************************
+    * ChunkTask maps and parses one chunk into its own Builder.
+    **************************************************************/
+  private static class ChunkTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final FileChannel channel;
+    private final long start, end;
+    private RecipeCatalog.Builder result;
+
+    ChunkTask(FileChannel channel, long start, long end) {
+      this.channel = channel;
+      this.start = start;
+      this.end = end;
+    }
+
+    protected void compute() {
+      result = new RecipeCatalog.Builder();
+      try {
+        int length = (int) (end - start);
+        MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        RecipeFileParser parser = new RecipeFileParser(result);
+        parser.parse(buf, 0, length, true);
+        parser.finish();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    RecipeCatalog.Builder getResult() {
+      return result;
+    }
+  }
+
+  /****************************************************************
+    * ChunkGroup runs a list of ChunkTasks, splitting the list in
+    * half until single tasks are left. An empty list does nothing.
+    **************************************************************/
+  private static class ChunkGroup extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<ChunkTask> tasks;
+
+    ChunkGroup(List<ChunkTask> tasks) {
+      this.tasks = tasks;
+    }
+
+    protected void compute() {
+      if (tasks.isEmpty()) return;
+      if (tasks.size() == 1) {
+        tasks.get(0).compute();
+        return;
+      }
+      int mid = tasks.size() / 2;
+      invokeAll(new ChunkGroup(tasks.subList(0, mid)),
+                new ChunkGroup(tasks.subList(mid, tasks.size())));
+    }
+  }
+
+
+  public static void main(String[] args) throws IOException {
+    //testing tiny chunks against a single parser
+    System.out.println("Testing 64 byte chunks");
+    RecipeCatalog expected = RecipeFileParser.load("recipes0516.txt");
+    RecipeCatalog test = load(new File("recipes0516.txt"), new ForkJoinPool(4), 64);
+    System.out.println("Expected: " + expected + "\tActual: " + test);
+    boolean same = true;
+    for (int i = 0; i < expected.size(); i++) {
+      same &= expected.get(i).toString().equals(test.get(i).toString());
+    }
+    System.out.println("Expected: true\tActual: " + same);
+
+    //testing empty files
+    System.out.println("\nTesting empty file");
+    File empty = File.createTempFile("recipes", ".txt");
+    empty.deleteOnExit();
+    System.out.println("Expected: 0\tActual: " + load(empty, new ForkJoinPool(4), 64).size());
+
+    //testing missing files
+    System.out.println("\nTesting missing file");
+    try {
+      load("nonexistent.txt");
+      System.out.println("Expected: FileNotFoundException\tActual: none");
+    } catch (FileNotFoundException e) {
+      System.out.println("Expected: FileNotFoundException\tActual: FileNotFoundException");
+    }
+  }
+}
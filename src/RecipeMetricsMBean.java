@@ -0,0 +1,22 @@
+/*****************************************************************
+  * FILE NAME: RecipeMetricsMBean.java
+  * WHO: Jenny Wang and Lily Xie
+  * WHEN: October 18, 2026
+  *
+  * WHAT: RecipeMetricsMBean is what JMX tools see of RecipeMetrics:
+  * the size of the catalog loaded last, how many catalogs have
+  * been loaded, and whether allocations are being measured.
+  ****************************************************************/
+
+public interface RecipeMetricsMBean {
+
+  int getCatalogRecipes();
+
+  int getCatalogIngredients();
+
+  long getCatalogLoads();
+
+  boolean isTrackAllocations();
+
+  void setTrackAllocations(boolean track);
+}
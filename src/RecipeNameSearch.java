@@ -0,0 +1,247 @@
+/*****************************************************************
+  * FILE NAME: RecipeNameSearch.java
+  * WHO: Jenny Wang and Lily Xie
+  * WHEN: October 18, 2026
+  *
+  * WHAT: RecipeNameSearch finds recipes by what a user has typed so
+  * far. It is a trie over lower-case recipe names in which every
+  * word of a name is also a key, so "sal" finds "Chicken Salad
+  * Sandwich" as well as "Salsa". A search:
+  *  1) walks the trie to the typed prefix and collects the recipes
+  *     below it, breadth first, so shorter completions come first
+  *  2) if that gives fewer results than asked for, walks the trie
+  *     again keeping a row of edit distances, and also collects
+  *     recipes whose keys start with something within one typo
+  *     of the query, then (for long queries) within two typos
+  * Both walks stop as soon as enough recipes are found, so the cost
+  * depends on the query and the limit rather than on the number
+  * of recipes.
+  *
+  * A RecipeNameSearch never changes once built and can be shared
+  * between threads.
+  ****************************************************************/
+
+import java.util.*;
+
+public class RecipeNameSearch {
+
+  private final Node root;
+
+  /****************************************************************
+    * Node is one character position in the trie. Children are
+    * kept sorted by label so they can be binary searched, and
+    * recipes lists the recipes having a key that ends here. While
+    * the trie is built the arrays grow by doubling, with counts of
+    * the slots in use; trim then cuts them to size, so searches
+    * can use the arrays' lengths.
+    **************************************************************/
+  private static class Node {
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final int[] NO_RECIPES = new int[0];
+
+    char[] labels = NO_LABELS;
+    Node[] children = NO_CHILDREN;
+    int[] recipes = NO_RECIPES;
+    int childCount, recipeCount; //only used while building
+
+    Node child(char c) {
+      int i = Arrays.binarySearch(labels, c);
+      return (i >= 0) ? children[i] : null;
+    }
+
+    Node addChild(char c) {
+      int i = Arrays.binarySearch(labels, 0, childCount, c);
+      if (i >= 0) return children[i];
+
+      i = -i - 1;
+      if (childCount == labels.length) {
+        int capacity = Math.max(2, 2 * childCount);
+        labels = Arrays.copyOf(labels, capacity);
+        children = Arrays.copyOf(children, capacity);
+      }
+      System.arraycopy(labels, i, labels, i + 1, childCount - i);
+      System.arraycopy(children, i, children, i + 1, childCount - i);
+      labels[i] = c;
+      children[i] = new Node();
+      childCount++;
+      return children[i];
+    }
+
+    void addRecipe(int id) {
+      if (recipeCount > 0 && recipes[recipeCount - 1] == id) return;
+      if (recipeCount == recipes.length) recipes = Arrays.copyOf(recipes, Math.max(1, 2 * recipeCount));
+      recipes[recipeCount++] = id;
+    }
+
+    void trim() {
+      if (labels.length != childCount) {
+        labels = Arrays.copyOf(labels, childCount);
+        children = Arrays.copyOf(children, childCount);
+      }
+      if (recipes.length != recipeCount) recipes = Arrays.copyOf(recipes, recipeCount);
+    }
+  }
+
+  /****************************************************************
+    * Constructor builds the trie over every recipe name in catalog.
+    *
+    * @param RecipeCatalog catalog is the catalog being searched
+    **************************************************************/
+  public RecipeNameSearch(RecipeCatalog catalog) {
+    root = new Node();
+    for (int r = 0; r < catalog.size(); r++) {
+      String name = normalize(catalog.get(r).getName());
+
+      //adds the whole name and the rest of the name from each word on
+      for (int start = 0; start < name.length(); start++) {
+        if (start == 0 || name.charAt(start - 1) == ' ') insert(name, start, r);
+      }
+    }
+
+    //trims every node, without recursing as deep as the longest name
+    ArrayDeque<Node> stack = new ArrayDeque<Node>();
+    stack.push(root);
+    while (!stack.isEmpty()) {
+      Node node = stack.pop();
+      node.trim();
+      for (Node child : node.children) stack.push(child);
+    }
+  }
+
+  private void insert(String key, int start, int recipe) {
+    Node node = root;
+    for (int i = start; i < key.length(); i++) node = node.addChild(key.charAt(i));
+    node.addRecipe(recipe);
+  }
+
+  /****************************************************************
+    * normalize lower-cases s and collapses runs of spaces.
+    **************************************************************/
+  private static String normalize(String s) {
+    StringBuilder b = new StringBuilder(s.length());
+    for (int i = 0; i < s.length(); i++) {
+      char c = Character.toLowerCase(s.charAt(i));
+      if (Character.isWhitespace(c)) {
+        if (b.length() > 0 && b.charAt(b.length() - 1) != ' ') b.append(' ');
+      }
+      else b.append(c);
+    }
+    int end = b.length();
+    if (end > 0 && b.charAt(end - 1) == ' ') b.setLength(end - 1);
+    return b.toString();
+  }
+
+  /****************************************************************
+    * search returns the IDs of up to limit recipes matching query,
+    * best first: prefix matches, then matches with one or two
+    * typos. An empty query matches nothing.
+    *
+    * @param String query is what the user has typed
+    * @param int limit is the most results wanted
+    **************************************************************/
+  public int[] search(String query, int limit) {
+    String q = normalize(query);
+    ArrayList<Integer> found = new ArrayList<Integer>();
+    if (q.length() == 0 || limit <= 0) return new int[0];
+
+    //1) exact prefix
+    Node node = root;
+    for (int i = 0; i < q.length() && node != null; i++) node = node.child(q.charAt(i));
+    if (node != null) collect(node, found, limit);
+
+    //2) typo-tolerant prefix, one typo before two
+    int maxEdits = (q.length() < 4) ? 0 : (q.length() < 8) ? 1 : 2;
+    int[] firstRow = new int[q.length() + 1];
+    for (int j = 0; j < firstRow.length; j++) firstRow[j] = j;
+
+    for (int edits = 1; edits <= maxEdits && found.size() < limit; edits++) {
+      ArrayList<Node> matches = new ArrayList<Node>();
+      fuzzy(root, q, firstRow, edits, matches, limit - found.size());
+      for (Node n : matches) {
+        if (found.size() >= limit) break;
+        collect(n, found, limit);
+      }
+    }
+
+    int[] result = new int[found.size()];
+    for (int i = 0; i < result.length; i++) result[i] = found.get(i);
+    return result;
+  }
+
+  /****************************************************************
+    * collect adds the recipes at and below start to found, breadth
+    * first and without duplicates, until found holds limit IDs.
+    **************************************************************/
+  private static void collect(Node start, ArrayList<Integer> found, int limit) {
+    ArrayDeque<Node> queue = new ArrayDeque<Node>();
+    queue.add(start);
+    while (!queue.isEmpty() && found.size() < limit) {
+      Node node = queue.remove();
+      for (int r : node.recipes) {
+        if (found.size() >= limit) return;
+        if (!found.contains(r)) found.add(r);
+      }
+      for (Node child : node.children) queue.add(child);
+    }
+  }
+
+  /****************************************************************
+    * fuzzy walks the trie below node, where row holds the edit
+    * distances between each prefix of q and the path to node.
+    * Nodes whose path is within maxEdits of the whole query are
+    * added to matches; the walk stops below them and wherever 
+    * every entry of row is over maxEdits. Since every node has at
+    * least one recipe below it, the whole walk stops (returning
+    * true) once needed nodes have been found.
+    **************************************************************/
+  private static boolean fuzzy(Node node, String q, int[] row, int maxEdits,
+                               ArrayList<Node> matches, int needed) {
+    for (int c = 0; c < node.labels.length; c++) {
+      char label = node.labels[c];
+      int[] next = new int[row.length];
+      next[0] = row[0] + 1;
+      int best = next[0];
+      for (int j = 1; j < row.length; j++) {
+        int cost = (q.charAt(j - 1) == label) ? 0 : 1;
+        next[j] = Math.min(Math.min(next[j - 1] + 1, row[j] + 1), row[j - 1] + cost);
+        best = Math.min(best, next[j]);
+      }
+
+      if (next[row.length - 1] <= maxEdits) {
+        matches.add(node.children[c]);
+        if (matches.size() >= needed) return true;
+      }
+      else if (best <= maxEdits) {
+        if (fuzzy(node.children[c], q, next, maxEdits, matches, needed)) return true;
+      }
+    }
+    return false;
+  }
+
+
+  public static void main(String[] args) {
+    RecipeCatalog catalog = RecipeCatalog.load("recipes0516.txt");
+    RecipeNameSearch test = new RecipeNameSearch(catalog);
+
+    //testing prefix search
+    System.out.println("Testing prefix search");
+    System.out.println("Expected: Chicken Noodle Soup, Chicken Salad Sandwich\tActual: "
+                         + names(catalog, test.search("chick", 5)));
+    System.out.println("Expected: Caesar Salad, Chicken Salad Sandwich\tActual: "
+                         + names(catalog, test.search("Salad", 5)));
+    System.out.println("Expected: []\tActual: " + names(catalog, test.search("", 5)));
+
+    //testing typos
+    System.out.println("\nTesting typos");
+    System.out.println("Expected: Pancakes\tActual: " + names(catalog, test.search("pankakes", 5)));
+    System.out.println("Expected: Omelette\tActual: " + names(catalog, test.search("omlet", 5)));
+    System.out.println("Expected: []\tActual: " + names(catalog, test.search("xyz", 5)));
+  }
+
+  private static List<String> names(RecipeCatalog catalog, int[] ids) {
+    ArrayList<String> names = new ArrayList<String>();
+    for (int id : ids) names.add(catalog.get(id).getName());
+    return names;
+  }
+}
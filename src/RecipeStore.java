@@ -0,0 +1,309 @@
+/*****************************************************************
+  * FILE NAME: RecipeStore.java
+  * WHO: Jenny Wang and Lily Xie
+  * WHEN: October 18, 2026
+  *
+  * WHAT: RecipeStore holds the names and ingredient IDs of every
+  * recipe in a RecipeCatalog as a few flat columns rather than an
+  * object per recipe:
+  *
+  * starts   size() + 1 ints; recipe r's ingredient IDs are
+  *          ids[starts[r]] up to ids[starts[r + 1]]
+  * ids      every recipe's sorted ingredient IDs, one after another
+  * amounts  how much of each ingredient in ids the recipe needs,
+  *          in the catalog's unit for that ingredient, or 0 for no
+  *          amount; only kept if some recipe gives amounts
+  * names    every recipe's name, and an index from name to the
+  *          first recipe ID with that name
+  *
+  * A Recipe is only a view of one row, made when it is asked for.
+  * There are two kinds of store:
+  *  - OnHeap keeps the columns in int arrays and the names as
+  *    Strings, which is fastest to read and the default.
+  *  - OffHeap keeps every column, the names as UTF-8 bytes, and an
+  *    open-addressing name index in direct ByteBuffers outside the
+  *    Java heap, so the heap and the garbage collector only see a
+  *    handful of buffer objects however many recipes there are.
+  *    Names are decoded when they are asked for. Each column must
+  *    be under 2 GB. The memory is freed when the store is
+  *    garbage collected, as with any direct buffer.
+  * Stores are made by RecipeCatalog.Builder and never change.
+  ****************************************************************/
+
+import java.util.*;
+import java.nio.*;
+import java.nio.charset.StandardCharsets;
+
+abstract class RecipeStore {
+
+  /****************************************************************
+    * size returns the number of recipes.
+    **************************************************************/
+  abstract int size();
+
+  /****************************************************************
+    * start returns where recipe r's ingredient IDs begin in the
+    * ids column; start(size()) is the total number of IDs.
+    *
+    * @param int r is from 0 to size()
+    **************************************************************/
+  abstract int start(int r);
+
+  /****************************************************************
+    * idAt returns the ingredient ID at position p of the ids
+    * column.
+    *
+    * @param int p is from 0 to start(size()) - 1
+    **************************************************************/
+  abstract int idAt(int p);
+
+  /****************************************************************
+    * amountAt returns how much of the ingredient at position p of
+    * the ids column its recipe needs, or 0 if it gives no amount.
+    *
+    * @param int p is from 0 to start(size()) - 1
+    **************************************************************/
+  abstract float amountAt(int p);
+
+  /****************************************************************
+    * hasAmounts returns whether the store has an amounts column.
+    **************************************************************/
+  abstract boolean hasAmounts();
+
+  /****************************************************************
+    * name returns the name of recipe r.
+    *
+    * @param int r is the recipe's ID
+    **************************************************************/
+  abstract String name(int r);
+
+  /****************************************************************
+    * find returns the ID of the first recipe called name, or -1.
+    *
+    * @param String name is the name of the recipe
+    **************************************************************/
+  abstract int find(String name);
+
+  /****************************************************************
+    * offHeapBytes returns how many bytes the store keeps outside
+    * the Java heap.
+    **************************************************************/
+  abstract long offHeapBytes();
+
+  /****************************************************************
+    * length returns the number of ingredients of recipe r.
+    *
+    * @param int r is the recipe's ID
+    **************************************************************/
+  final int length(int r) {
+    return start(r + 1) - start(r);
+  }
+
+
+  /****************************************************************
+    * OnHeap keeps the columns in arrays on the Java heap.
+    **************************************************************/
+  static final class OnHeap extends RecipeStore {
+
+    private final String[] names;
+    private final int[] starts;
+    private final int[] ids;
+    private final float[] amounts; //null if there are none
+    private final HashMap<String, Integer> byName; //name -> first recipe ID
+
+    /**************************************************************
+      * Constructor keeps the given columns, which nothing else
+      * may change afterwards.
+      *
+      * @param String[] names holds the recipe names
+      * @param int[] starts holds names.length + 1 starts
+      * @param int[] ids holds the ingredient IDs
+      * @param float[] amounts holds their amounts, or is null
+      ************************************************************/
+    OnHeap(String[] names, int[] starts, int[] ids, float[] amounts) {
+      this.names = names;
+      this.starts = starts;
+      this.ids = ids;
+      this.amounts = amounts;
+      //sized so the map never rehashes; the first recipe of a name wins
+      byName = new HashMap<String, Integer>(names.length * 4 / 3 + 1);
+      for (int r = 0; r < names.length; r++) byName.putIfAbsent(names[r], r);
+    }
+
+    int size() {
+      return names.length;
+    }
+
+    int start(int r) {
+      return starts[r];
+    }
+
+    int idAt(int p) {
+      return ids[p];
+    }
+
+    float amountAt(int p) {
+      return (amounts == null) ? 0 : amounts[p];
+    }
+
+    boolean hasAmounts() {
+      return amounts != null;
+    }
+
+    String name(int r) {
+      return names[r];
+    }
+
+    int find(String name) {
+      Integer id = byName.get(name);
+      return (id == null) ? -1 : id;
+    }
+
+    long offHeapBytes() {
+      return 0;
+    }
+  }
+
+
+  /****************************************************************
+    * OffHeap keeps the columns in direct ByteBuffers. The name
+    * index is a table of recipe ID + 1 (0 for an empty slot) with
+    * at least twice as many slots as recipes, probed linearly from
+    * the slot picked by the name's hash code; candidates are
+    * compared byte by byte, so finding a name decodes nothing.
+    **************************************************************/
+  static final class OffHeap extends RecipeStore {
+
+    private final int size;
+    private final IntBuffer starts;
+    private final IntBuffer ids;
+    private final FloatBuffer amounts; //null if there are none
+    private final IntBuffer nameStarts; //size + 1 byte offsets into nameBytes
+    private final ByteBuffer nameBytes;
+    private final IntBuffer table;
+    private final int mask;
+    private final long bytes;
+
+    /**************************************************************
+      * Constructor copies the given columns out of the heap.
+      *
+      * @param List<String> names holds the recipe names
+      * @param int[] starts holds at least names.size() + 1 starts
+      * @param int[] ids holds at least starts[names.size()] IDs
+      * @param float[] amounts holds as many amounts, or is null
+      ************************************************************/
+    OffHeap(List<String> names, int[] starts, int[] ids, float[] amounts) {
+      size = names.size();
+      this.starts = allocate(size + 1).put(starts, 0, size + 1);
+      this.ids = allocate(starts[size]).put(ids, 0, starts[size]);
+      this.amounts = (amounts == null) ? null
+        : ByteBuffer.allocateDirect(4 * starts[size]).order(ByteOrder.nativeOrder()).asFloatBuffer()
+            .put(amounts, 0, starts[size]);
+
+      long nameLength = 0;
+      for (String name : names) nameLength += utf8Length(name);
+      if (nameLength > Integer.MAX_VALUE) throw new IllegalStateException("Recipe names over 2 GB");
+      nameStarts = allocate(size + 1);
+      nameBytes = ByteBuffer.allocateDirect((int) nameLength);
+      nameStarts.put(0);
+      for (String name : names) {
+        nameBytes.put(name.getBytes(StandardCharsets.UTF_8));
+        nameStarts.put(nameBytes.position());
+      }
+
+      int slots = Integer.highestOneBit(Math.max(2 * size, 1) * 2 - 1);
+      mask = slots - 1;
+      table = allocate(slots);
+      for (int r = 0; r < size; r++) {
+        String name = names.get(r);
+        int slot = slotOf(name);
+        boolean seen = false;
+        while (table.get(slot) != 0 && !seen) {
+          seen = names.get(table.get(slot) - 1).equals(name);
+          slot = (slot + 1) & mask;
+        }
+        if (!seen) table.put(slot, r + 1);
+      }
+
+      bytes = 4L * (this.starts.capacity() + this.ids.capacity() + nameStarts.capacity() + slots
+                    + ((amounts == null) ? 0 : this.amounts.capacity()))
+        + nameBytes.capacity();
+    }
+
+    private static IntBuffer allocate(int ints) {
+      return ByteBuffer.allocateDirect(4 * ints).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    private static long utf8Length(String s) {
+      long length = 0;
+      for (int i = 0; i < s.length(); i++) {
+        char c = s.charAt(i);
+        if (c < 0x80) length += 1;
+        else if (c < 0x800) length += 2;
+        else if (Character.isHighSurrogate(c) && i + 1 < s.length()
+                   && Character.isLowSurrogate(s.charAt(i + 1))) {
+          length += 4;
+          i++;
+        }
+        else length += 3;
+      }
+      return length;
+    }
+
+    private int slotOf(String name) {
+      int h = name.hashCode() * 0x9E3779B9;
+      return (h ^ (h >>> 16)) & mask;
+    }
+
+    int size() {
+      return size;
+    }
+
+    int start(int r) {
+      return starts.get(r);
+    }
+
+    int idAt(int p) {
+      return ids.get(p);
+    }
+
+    float amountAt(int p) {
+      return (amounts == null) ? 0 : amounts.get(p);
+    }
+
+    boolean hasAmounts() {
+      return amounts != null;
+    }
+
+    String name(int r) {
+      int from = nameStarts.get(r);
+      byte[] utf8 = new byte[nameStarts.get(r + 1) - from];
+      ByteBuffer view = nameBytes.duplicate(); //own position, so reads can overlap
+      view.position(from);
+      view.get(utf8);
+      return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    int find(String name) {
+      byte[] utf8 = name.getBytes(StandardCharsets.UTF_8);
+      for (int slot = slotOf(name); table.get(slot) != 0; slot = (slot + 1) & mask) {
+        int r = table.get(slot) - 1;
+        if (nameEquals(r, utf8)) return r;
+      }
+      return -1;
+    }
+
+    private boolean nameEquals(int r, byte[] utf8) {
+      int from = nameStarts.get(r);
+      if (nameStarts.get(r + 1) - from != utf8.length) return false;
+      for (int i = 0; i < utf8.length; i++) {
+        if (nameBytes.get(from + i) != utf8[i]) return false;
+      }
+      return true;
+    }
+
+    long offHeapBytes() {
+      return bytes;
+    }
+  }
+}
@@ -0,0 +1,397 @@
+/*****************************************************************
+  * FILE NAME: RecommendationCache.java
+  * WHO: Jenny Wang and Lily Xie
+  * WHEN: October 18, 2026
+  *
+  * WHAT: RecommendationCache remembers the top k recipes found for
+  * a fridge, so that users with the same fridge do not each pay
+  * for scoring the whole catalog. Entries are keyed by the
+  * strategy, the scorer's k and the canonical form of the fridge,
+  * its sorted ingredient IDs without repeats or unknown
+  * ingredients, so the order the user added things in does not
+  * matter. A fridge with amounts is keyed by its amounts too,
+  * unless every amount is infinite, which scores the same as a
+  * fridge without them.
+  *
+  * The cache is bounded in two ways:
+  *  - by size: once it holds maxEntries, the least recently used
+  *    entry is evicted for each new one
+  *  - by time: an entry older than the time to live is dropped
+  *    when it is next looked up
+  * Results are only valid for the catalog they were scored
+  * against, so the cache only ever holds results for the newest
+  * catalog it has been asked about. It is cleared the first time
+  * it is asked about a newer catalog (for example after a reload),
+  * or when invalidate is called. Requests still using an older
+  * catalog, such as those that started before a reload, are
+  * scored directly and neither read nor change the cache, so old
+  * and new requests cannot take turns clearing it.
+  *
+  * Hits, misses, evictions, expirations and an estimate of the
+  * memory held are counted and can be read at any time. All
+  * methods are thread-safe; scoring a miss happens outside the
+  * lock, so a slow miss never holds up hits.
+  ****************************************************************/
+
+import java.util.*;
+import java.util.function.LongSupplier;
+
+public class RecommendationCache {
+
+  private static final long ENTRY_OVERHEAD = 96; //bytes per entry besides its arrays
+
+  private final int maxEntries;
+  private final long ttlNanos;
+  private final LongSupplier clock;
+  private final LinkedHashMap<Key,Entry> entries;
+  private RecipeCatalog catalog; //the catalog entries were scored against
+
+  private long hits, misses, evictions, expirations, invalidations, bypasses;
+  private long bytes; //estimated memory held by entries
+
+  /****************************************************************
+    * Key is a strategy, a number of recipes and a canonical fridge.
+    **************************************************************/
+  private static class Key {
+    final ScoringStrategy strategy;
+    final int k;
+    final int[] fridge; //sorted, no repeats
+    final float[] amounts; //aligned with fridge, or null
+    final int hash;
+
+    Key(ScoringStrategy strategy, int k, int[] fridge, float[] amounts) {
+      this.strategy = strategy;
+      this.k = k;
+      this.fridge = fridge;
+      this.amounts = amounts;
+      hash = 31 * (31 * (31 * System.identityHashCode(strategy) + k) + Arrays.hashCode(fridge))
+        + Arrays.hashCode(amounts);
+    }
+
+    public int hashCode() {
+      return hash;
+    }
+
+    public boolean equals(Object o) {
+      if (!(o instanceof Key)) return false;
+      Key other = (Key) o;
+      return hash == other.hash && strategy == other.strategy && k == other.k
+        && Arrays.equals(fridge, other.fridge) && Arrays.equals(amounts, other.amounts);
+    }
+  }
+
+  /****************************************************************
+    * Entry is a cached result and when it was made.
+    **************************************************************/
+  private static class Entry {
+    final int[] top;
+    final long created;
+
+    Entry(int[] top, long created) {
+      this.top = top;
+      this.created = created;
+    }
+  }
+
+  /****************************************************************
+    * Constructor creates an empty cache.
+    *
+    * @param int maxEntries is the most results kept
+    * @param long ttlMillis is how long a result stays valid
+    **************************************************************/
+  public RecommendationCache(int maxEntries, long ttlMillis) {
+    this(maxEntries, ttlMillis, System::nanoTime);
+  }
+
+  /****************************************************************
+    * Constructor creates an empty cache that reads the time in
+    * nanoseconds from clock, so tests can move time forward.
+    **************************************************************/
+  RecommendationCache(int maxEntries, long ttlMillis, LongSupplier clock) {
+    this.maxEntries = Math.max(maxEntries, 1);
+    this.ttlNanos = ttlMillis * 1000000L;
+    this.clock = clock;
+    entries = new LinkedHashMap<Key,Entry>(16, 0.75f, true) {
+      protected boolean removeEldestEntry(Map.Entry<Key,Entry> eldest) {
+        if (size() <= RecommendationCache.this.maxEntries) return false;
+        evictions++;
+        bytes -= sizeOf(eldest.getKey(), eldest.getValue());
+        return true;
+      }
+    };
+  }
+
+  /****************************************************************
+    * top returns the IDs of the best recipes for fridge under
+    * scorer, best first, from the cache if a fresh result is there
+    * and from scorer.top otherwise. A scorer over an older catalog
+    * than the cache's is not cached (see getBypasses). The returned
+    * array is shared with the cache and must not be changed.
+    *
+    * @param BatchScorer scorer scores the fridge on a miss
+    * @param int[] fridge holds the fridge's ingredient IDs
+    **************************************************************/
+  public int[] top(BatchScorer scorer, int[] fridge) {
+    return top(scorer, fridge, null);
+  }
+
+  /****************************************************************
+    * top is like the one above for a fridge that says how much
+    * there is of each ingredient, scored by BatchScorer.top with
+    * amounts.
+    *
+    * @param BatchScorer scorer scores the fridge on a miss
+    * @param int[] fridge holds the fridge's ingredient IDs
+    * @param float[] amounts holds how much there is of each, or is
+    * null to count every ingredient whatever the recipe needs
+    **************************************************************/
+  public int[] top(BatchScorer scorer, int[] fridge, float[] amounts) {
+    Key key = canonical(scorer.getStrategy(), scorer.getK(), fridge, amounts);
+    synchronized (this) {
+      RecipeCatalog asked = scorer.getCatalog();
+      if (catalog != asked) {
+        if (catalog != null && asked.getGeneration() < catalog.getGeneration()) {
+          bypasses++;
+          return scorer.top(key.fridge, key.amounts);
+        }
+        if (catalog != null) invalidate();
+        catalog = asked;
+      }
+      Entry entry = entries.get(key);
+      if (entry != null) {
+        if (clock.getAsLong() - entry.created <= ttlNanos) {
+          hits++;
+          return entry.top;
+        }
+        entries.remove(key);
+        bytes -= sizeOf(key, entry);
+        expirations++;
+      }
+      misses++;
+    }
+
+    int[] top = scorer.top(key.fridge, key.amounts);
+    synchronized (this) {
+      //a newer catalog may have arrived while scoring
+      if (catalog == scorer.getCatalog()) {
+        Entry entry = new Entry(top, clock.getAsLong());
+        Entry old = entries.put(key, entry);
+        bytes += sizeOf(key, entry);
+        if (old != null) bytes -= sizeOf(key, old);
+      }
+    }
+    return top;
+  }
+
+  /****************************************************************
+    * canonical returns the sorted IDs of fridge without repeats or
+    * negative (unknown) IDs.
+    **************************************************************/
+  static int[] canonical(int[] fridge) {
+    int[] ids = fridge.clone();
+    Arrays.sort(ids);
+    int count = 0;
+    for (int id : ids) {
+      if (id >= 0 && (count == 0 || ids[count - 1] != id)) ids[count++] = id;
+    }
+    return Arrays.copyOf(ids, count);
+  }
+
+  /****************************************************************
+    * canonical returns the key of a fridge with amounts. As in
+    * BatchScorer.top, a repeated ID takes its last amount and an
+    * ingredient with an amount of 0 is left out. If every amount
+    * left is infinite, the key has no amounts.
+    **************************************************************/
+  static Key canonical(ScoringStrategy strategy, int k, int[] fridge, float[] amounts) {
+    if (amounts == null) return new Key(strategy, k, canonical(fridge), null);
+    HashMap<Integer,Float> last = new HashMap<Integer,Float>();
+    for (int i = 0; i < fridge.length; i++) {
+      if (fridge[i] >= 0) last.put(fridge[i], amounts[i]);
+    }
+    int[] ids = new int[last.size()];
+    int count = 0;
+    for (Map.Entry<Integer,Float> item : last.entrySet()) {
+      if (item.getValue() > 0) ids[count++] = item.getKey();
+    }
+    ids = Arrays.copyOf(ids, count);
+    Arrays.sort(ids);
+    float[] sorted = new float[count];
+    boolean finite = false;
+    for (int i = 0; i < count; i++) {
+      sorted[i] = last.get(ids[i]);
+      finite |= sorted[i] != Float.POSITIVE_INFINITY;
+    }
+    return new Key(strategy, k, ids, finite ? sorted : null);
+  }
+
+  private static long sizeOf(Key key, Entry entry) {
+    long amounts = (key.amounts == null) ? 0 : 4L * key.amounts.length;
+    return ENTRY_OVERHEAD + 4L * key.fridge.length + amounts + 4L * entry.top.length;
+  }
+
+  /****************************************************************
+    * invalidate drops every cached result.
+    **************************************************************/
+  public synchronized void invalidate() {
+    entries.clear();
+    bytes = 0;
+    invalidations++;
+  }
+
+  /****************************************************************
+    * size returns the number of results held.
+    **************************************************************/
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  /****************************************************************
+    * getHits returns how many lookups found a fresh result.
+    **************************************************************/
+  public synchronized long getHits() {
+    return hits;
+  }
+
+  /****************************************************************
+    * getMisses returns how many lookups had to score the fridge.
+    **************************************************************/
+  public synchronized long getMisses() {
+    return misses;
+  }
+
+  /****************************************************************
+    * getHitRate returns hits over lookups, or 0 before any lookup.
+    **************************************************************/
+  public synchronized double getHitRate() {
+    long lookups = hits + misses;
+    return (lookups == 0) ? 0 : (double) hits / lookups;
+  }
+
+  /****************************************************************
+    * getEvictions returns how many results were dropped to stay
+    * within maxEntries.
+    **************************************************************/
+  public synchronized long getEvictions() {
+    return evictions;
+  }
+
+  /****************************************************************
+    * getExpirations returns how many results were dropped for
+    * being older than the time to live.
+    **************************************************************/
+  public synchronized long getExpirations() {
+    return expirations;
+  }
+
+  /****************************************************************
+    * getInvalidations returns how many times the cache was cleared.
+    **************************************************************/
+  public synchronized long getInvalidations() {
+    return invalidations;
+  }
+
+  /****************************************************************
+    * getBypasses returns how many lookups were for an older catalog
+    * than the cache's, and so were scored without the cache.
+    **************************************************************/
+  public synchronized long getBypasses() {
+    return bypasses;
+  }
+
+  /****************************************************************
+    * getEstimatedBytes returns an estimate of the memory held by
+    * the cached results.
+    **************************************************************/
+  public synchronized long getEstimatedBytes() {
+    return bytes;
+  }
+
+  /****************************************************************
+    * toString returns the cache's counters on one line.
+    **************************************************************/
+  public synchronized String toString() {
+    return String.format("entries %d, hits %d, misses %d, hit rate %.3f, evictions %d, "
+                           + "expirations %d, invalidations %d, bypasses %d, bytes %d",
+                         entries.size(), hits, misses, getHitRate(), evictions,
+                         expirations, invalidations, bypasses, bytes);
+  }
+
+
+  public static void main(String[] args) {
+    RecipeCatalog catalog = RecipeCatalog.load("recipes0516.txt");
+    IngredientDictionary dictionary = catalog.getDictionary();
+    BatchScorer scorer = new BatchScorer(catalog, ScoringStrategy.COVERAGE, 3);
+    final long[] now = {0};
+    RecommendationCache test = new RecommendationCache(2, 1000, () -> now[0]);
+    int[] pbj = BatchScorer.toIds(Arrays.asList("PB", "Jelly", "Bread"), dictionary);
+    int[] jbp = BatchScorer.toIds(Arrays.asList("Bread", "Jelly", "PB", "PB", "nonexistent"), dictionary);
+
+    //testing hits on the canonical fridge
+    System.out.println("Testing hits");
+    int[] first = test.top(scorer, pbj);
+    System.out.println("Expected: true\tActual: " + (test.top(scorer, jbp) == first));
+    System.out.println("Expected: PBnJ\tActual: " + catalog.get(first[0]).getName());
+    System.out.println("Expected: 1 hit, 1 miss\tActual: " + test.getHits() + " hit, "
+                         + test.getMisses() + " miss");
+
+    //testing size eviction
+    System.out.println("\nTesting eviction");
+    test.top(scorer, BatchScorer.toIds(Arrays.asList("Eggs"), dictionary));
+    test.top(scorer, BatchScorer.toIds(Arrays.asList("Bacon"), dictionary));
+    System.out.println("Expected: 2 entries, 1 eviction\tActual: " + test.size() + " entries, "
+                         + test.getEvictions() + " eviction");
+    System.out.println("Expected: " + (2 * ENTRY_OVERHEAD + 4 * 2 + 4 * 6) + "\tActual: "
+                         + test.getEstimatedBytes());
+
+    //testing expiry
+    System.out.println("\nTesting expiry");
+    now[0] += 2000 * 1000000L;
+    test.top(scorer, BatchScorer.toIds(Arrays.asList("Bacon"), dictionary));
+    System.out.println("Expected: 1\tActual: " + test.getExpirations());
+
+    //testing scorers with different k
+    System.out.println("\nTesting another k");
+    int[] five = test.top(new BatchScorer(catalog, ScoringStrategy.COVERAGE, 5), pbj);
+    System.out.println("Expected: 5\tActual: " + five.length);
+
+    //testing fridges with amounts
+    System.out.println("\nTesting amounts");
+    float inf = Float.POSITIVE_INFINITY;
+    long misses = test.getMisses();
+    test.top(scorer, pbj, new float[] {2, 1, 1});
+    test.top(scorer, pbj, new float[] {2, 1, 3});
+    test.top(scorer, jbp, new float[] {3, 1, 7, 2, 5});
+    System.out.println("Expected: 2 more misses\tActual: " + (test.getMisses() - misses) + " more misses");
+    int[] infinite = test.top(scorer, pbj, new float[] {inf, inf, inf});
+    System.out.println("Expected: true\tActual: " + (infinite == test.top(scorer, jbp)));
+    test.top(scorer, jbp, new float[] {inf, inf, inf, 0, 1});
+    System.out.println("Expected: 4 more misses\tActual: " + (test.getMisses() - misses) + " more misses");
+
+    //testing a new catalog
+    System.out.println("\nTesting a new catalog");
+    RecipeCatalog reloaded = RecipeCatalog.load("recipes0516.txt");
+    test.top(new BatchScorer(reloaded, ScoringStrategy.COVERAGE, 3), pbj);
+    System.out.println("Expected: 1 entry, 1 invalidation\tActual: " + test.size() + " entry, "
+                         + test.getInvalidations() + " invalidation");
+
+    //testing requests on the old and new catalogs taking turns
+    System.out.println("\nTesting mixed catalogs");
+    BatchScorer oldScorer = new BatchScorer(catalog, ScoringStrategy.COVERAGE, 3);
+    BatchScorer newScorer = new BatchScorer(reloaded, ScoringStrategy.COVERAGE, 3);
+    int[] eggs = BatchScorer.toIds(Arrays.asList("Eggs"), dictionary);
+    int[] fromNew = test.top(newScorer, pbj);
+    for (int i = 0; i < 3; i++) {
+      int[] fromOld = test.top(oldScorer, pbj);
+      System.out.println("Expected: " + catalog.get(fromNew[0]) + "\tActual: " + catalog.get(fromOld[0]));
+      System.out.println("Expected: true\tActual: " + (test.top(newScorer, pbj) == fromNew));
+    }
+    test.top(oldScorer, eggs);
+    System.out.println("Expected: 1 invalidation, 4 bypasses, 1 entry\tActual: "
+                         + test.getInvalidations() + " invalidation, " + test.getBypasses()
+                         + " bypasses, " + test.size() + " entry");
+    System.out.println("Expected: true\tActual: "
+                         + (catalog.getGeneration() < reloaded.getGeneration()));
+    System.out.println(test);
+  }
+}
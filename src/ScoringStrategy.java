@@ -0,0 +1,51 @@
+/*****************************************************************
+  * FILE NAME: ScoringStrategy.java
+  * WHO: Jenny Wang and Lily Xie
+  * WHEN: October 18, 2026
+  *
+  * WHAT: ScoringStrategy decides how good a recipe is for a fridge,
+  * from a handful of numbers that FridgeScores keeps for every
+  * recipe in primitive arrays. A strategy only does arithmetic on
+  * these numbers, so ranking a whole catalog is one tight loop
+  * that creates no objects. Higher scores are better.
+  *
+  * The numbers are:
+  *  - length, the number of ingredients in the recipe
+  *  - matched, how many of them are in the fridge
+  *  - matchedWeight, the sum of the rarity weights of the matched
+  *    ingredients (see RecipeCatalog.weight)
+  *  - totalWeight, the sum of the rarity weights of all of them
+  *
+  * The built-in strategies are:
+  *  - MATCH_COUNT, the number of matched ingredients (the original
+  *    score, which favours long recipes)
+  *  - COVERAGE, the fraction of the recipe that is in the fridge
+  *  - FEWEST_MISSING, minus the number of missing ingredients
+  *  - RARITY, the summed rarity of the matched ingredients, so a
+  *    recipe using the saffron in the fridge beats one using salt
+  ****************************************************************/
+
+public interface ScoringStrategy {
+
+  ScoringStrategy MATCH_COUNT =
+    (length, matched, matchedWeight, totalWeight) -> matched;
+
+  ScoringStrategy COVERAGE =
+    (length, matched, matchedWeight, totalWeight) -> (length == 0) ? 0 : (double) matched / length;
+
+  ScoringStrategy FEWEST_MISSING =
+    (length, matched, matchedWeight, totalWeight) -> matched - length;
+
+  ScoringStrategy RARITY =
+    (length, matched, matchedWeight, totalWeight) -> matchedWeight;
+
+  /****************************************************************
+    * score returns the score of one recipe.
+    *
+    * @param int length is the number of ingredients in the recipe
+    * @param int matched is how many of them are in the fridge
+    * @param double matchedWeight is the rarity of the matched ones
+    * @param double totalWeight is the rarity of all of them
+    **************************************************************/
+  double score(int length, int matched, double matchedWeight, double totalWeight);
+}
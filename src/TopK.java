@@ -0,0 +1,158 @@
+/*****************************************************************
+  * FILE NAME: TopK.java
+  * WHO: Jenny Wang and Lily Xie
+  * WHEN: October 18, 2026
+  *
+  * WHAT: TopK keeps the k best recipe IDs offered to it, using a
+  * bounded min-heap held in two primitive arrays, so finding the
+  * best k of n scores costs O(n log k) and allocates nothing per
+  * recipe. Higher scores are better, and equal scores are broken
+  * by the lower recipe ID, so results are deterministic.
+  * This class contains methods to:
+  *  - Offer a recipe ID with its score
+  *  - Get the kept IDs, best first
+  *  - Clear the selection so it can be reused
+  ****************************************************************/
+
+import java.util.*;
+
+public class TopK {
+
+  private int[] ids; //heap of recipe IDs, worst kept recipe at 0
+  private double[] scores; //scores[i] is the score of ids[i]
+  private int size;
+
+  /****************************************************************
+    * Constructor creates an empty TopK that keeps at most k IDs.
+    *
+    * @param int k is the number of recipes to keep
+    **************************************************************/
+  public TopK(int k) {
+    ids = new int[Math.max(k, 0)];
+    scores = new double[ids.length];
+    size = 0;
+  }
+
+  /****************************************************************
+    * offer considers recipe id with the given score. While fewer
+    * than k IDs are kept it is always added; after that it only
+    * replaces the worst kept ID if it is better.
+    *
+    * @param int id is the recipe ID
+    * @param double score is the recipe's score
+    **************************************************************/
+  public void offer(int id, double score) {
+    if (size < ids.length) {
+      ids[size] = id;
+      scores[size] = score;
+      siftUp(size++);
+    }
+    else if (size > 0 && better(score, id, scores[0], ids[0])) {
+      ids[0] = id;
+      scores[0] = score;
+      siftDown(0);
+    }
+  }
+
+  /****************************************************************
+    * size returns how many IDs are currently kept.
+    **************************************************************/
+  public int size() {
+    return size;
+  }
+
+  /****************************************************************
+    * clear empties the selection without reallocating.
+    **************************************************************/
+  public void clear() {
+    size = 0;
+  }
+
+  /****************************************************************
+    * toArray returns the kept recipe IDs, best first. The heap
+    * itself is left untouched.
+    **************************************************************/
+  public int[] toArray() {
+    int[] heapIds = Arrays.copyOf(ids, size);
+    double[] heapScores = Arrays.copyOf(scores, size);
+    int[] result = new int[size];
+
+    //pops the worst into the back of result, like heap sort
+    for (int n = size; n > 0; n--) {
+      result[n - 1] = heapIds[0];
+      heapIds[0] = heapIds[n - 1];
+      heapScores[0] = heapScores[n - 1];
+      siftDown(heapIds, heapScores, n - 1, 0);
+    }
+    return result;
+  }
+
+  /****************************************************************
+    * better returns whether (score, id) ranks ahead of
+    * (otherScore, otherId).
+    **************************************************************/
+  private static boolean better(double score, int id, double otherScore, int otherId) {
+    if (score != otherScore) return score > otherScore;
+    return id < otherId;
+  }
+
+  private void siftUp(int i) {
+    while (i > 0) {
+      int parent = (i - 1) / 2;
+      if (!better(scores[parent], ids[parent], scores[i], ids[i])) break;
+      swap(ids, scores, i, parent);
+      i = parent;
+    }
+  }
+
+  private void siftDown(int i) {
+    siftDown(ids, scores, size, i);
+  }
+
+  /****************************************************************
+    * siftDown restores the min-heap (worst at the root) over the
+    * first n entries of heapIds and heapScores, starting at i.
+    **************************************************************/
+  private static void siftDown(int[] heapIds, double[] heapScores, int n, int i) {
+    while (true) {
+      int worst = i;
+      int left = 2 * i + 1;
+      int right = left + 1;
+      if (left < n && better(heapScores[worst], heapIds[worst], heapScores[left], heapIds[left]))
+        worst = left;
+      if (right < n && better(heapScores[worst], heapIds[worst], heapScores[right], heapIds[right]))
+        worst = right;
+      if (worst == i) return;
+      swap(heapIds, heapScores, i, worst);
+      i = worst;
+    }
+  }
+
+  private static void swap(int[] heapIds, double[] heapScores, int a, int b) {
+    int id = heapIds[a];
+    heapIds[a] = heapIds[b];
+    heapIds[b] = id;
+    double score = heapScores[a];
+    heapScores[a] = heapScores[b];
+    heapScores[b] = score;
+  }
+
+
+  public static void main(String[] args) {
+    System.out.println("Testing offer and toArray");
+    TopK test = new TopK(3);
+    double[] s = {1, 5, 3, 5, 0, 4};
+    for (int i = 0; i < s.length; i++) test.offer(i, s[i]);
+    System.out.println("Expected: [1, 3, 5]\tActual: " + Arrays.toString(test.toArray()));
+
+    System.out.println("\nTesting fewer than k offers");
+    test.clear();
+    test.offer(7, 2);
+    System.out.println("Expected: [7]\tActual: " + Arrays.toString(test.toArray()));
+
+    System.out.println("\nTesting k of zero");
+    TopK none = new TopK(0);
+    none.offer(1, 1);
+    System.out.println("Expected: []\tActual: " + Arrays.toString(none.toArray()));
+  }
+}
@@ -10,40 +10,50 @@
   * if they have their own collection of recipes, or a 
   * default file that we have written. 
   * 
+  * The recipe box is a RecipeCatalog that is loaded once per file
+  * and shared by every User reading that file; each User only 
+  * owns its fridge and its scores (a FridgeScores).
+  * 
   * This class contains methods to:
-  *  - Add or remove items the user has in their fridge
+  *  - Add or remove items the user has in their fridge, with
+  *    or without how much of them there is
   *  - Score all recipes and determine the ones best suited 
   *    for the user based on the items available in 
   *    their fridge
+  *  - Stream the recipes the user is only a few items short of
   *  - Getters
+  * 
+  * calculateScores, topRecipes and findInList are timed by 
+  * RecipeMetrics.
   ***************************************************************/
 
 import java.util.*;
-import java.io.*;
+import java.util.stream.*;
+import java.util.function.Consumer;
 
 public class User {
   
   private String name; //user's name
-  public PriorityQueue<Recipe> recipeBox; 
+  private RecipeCatalog catalog; //shared with other Users of the same file
+  private ReloadingCatalog source; //where new catalogs come from, or null
   public LinkedList<String> contents;
+  private HashMap<String, Quantity> quantities; //contents item -> how much, if known
+  private FridgeScores scores; //this user's fridge and recipe scores
   
   /****************************************************************
-   * Constructor creates the User and initializes a recipeBox 
-   * by reading from a given file. It also initalizes the contents
-   * of the user's fridge as empty (to be filled in later with
-   * addContent or removeContent).
+   * Constructor creates the User with the recipes from a given 
+   * file. The file is only read the first time any User asks for
+   * it; later Users share the same RecipeCatalog, which is 
+   * reloaded when the file changes (see ReloadingCatalog). It also 
+   * initalizes the contents of the user's fridge as empty (to be
+   * filled in later with addContent or removeContent).
    * 
    * @param String name is the user's name
    * @param String recipeFileName is the filename of the .txt
    * document containing the recipes
    **************************************************************/
   public User(String name, String recipeFileName) {
-    this.name = name;
-    
-    recipeBox = new PriorityQueue<Recipe>(); //initialize as empty
-    readRecipes(recipeFileName); //read recipe
-    
-    contents = new LinkedList<String>(); //initializes as empty
+    this(name, ReloadingCatalog.shared(recipeFileName));
   }
   
   /****************************************************************
@@ -57,188 +67,305 @@ public class User {
   public User (String name) {
    this (name, "recipes0516.txt");
   }
-
+  
   /****************************************************************
-   * readRecipes is a private method used in the constructor to
-   * populate recipeBox. It performs a try/catch of reading a 
-   * .txt file, with the scanner stopping for delimiters.
-   * The format of the .txt file is:
-   * 
-   * Recipe name
-   * . //delimiter for ingredients
-   * Ingredient
-   * . 
-   * //etc...
-   * Last ingredient
-   * # //delimiter for recipes
+   * Third constructor creates a User reading from an already
+   * loaded catalog, which may be shared with any number of
+   * other Users.
    * 
-   * This method catches a filenotfound exception and prints out
-   * an error message. 
+   * @param String name is the user's name
+   * @param RecipeCatalog catalog is the catalog of recipes
+   **************************************************************/
+  public User(String name, RecipeCatalog catalog) {
+    this.name = name;
+    this.catalog = catalog;
+    
+    contents = new LinkedList<String>(); //initializes as empty
+    quantities = new HashMap<String, Quantity>();
+    scores = new FridgeScores(catalog);
+  }
+  
+  /****************************************************************
+   * Fourth constructor creates a User reading from a catalog that
+   * is replaced when its file changes. The user picks up the new
+   * catalog the next time it is used, keeping its contents.
    * 
-   * @param String fileName is the name of the file being read
+   * @param String name is the user's name
+   * @param ReloadingCatalog source holds the current catalog
    **************************************************************/
-  private void readRecipes(String fileName) {
-    try {
-      Scanner reader = new Scanner(new File(fileName));
-      
-      while (reader.hasNextLine()) {
-        
-        //creates a recipe
-        String recipeName = reader.nextLine();
-        Recipe r = new Recipe(recipeName);
-        
-        //reads in recipe's ingredients
-        while (!reader.nextLine().equals("#")) {
-          String ingredient = reader.nextLine();
-          r.addIngredient(ingredient);
-        }
-        
-        //adds recipe to recipeBox
-        recipeBox.add(r);
-      }
-      
-      reader.close();
-      
-    }catch (FileNotFoundException e) {
-      System.out.println("Inputed recipe file not found"); 
-    }
+  public User(String name, ReloadingCatalog source) {
+    this(name, source.get());
+    this.source = source;
   }
   
+  /****************************************************************
+   * refresh moves the user onto the newest catalog of its source,
+   * if it has been reloaded. The new catalog has new IDs, so the
+   * scores are rebuilt from contents, keeping the strategy. This
+   * is one reference read when nothing has changed.
+   **************************************************************/
+  private void refresh() {
+    if (source == null || source.get() == catalog) return;
+    
+    ScoringStrategy strategy = scores.getStrategy();
+    catalog = source.get();
+    scores = new FridgeScores(catalog);
+    scores.setStrategy(strategy);
+    for (String item : contents) {
+      int id = catalog.getDictionary().idOf(item);
+      if (id >= 0) scores.add(id, catalog.amountOf(id, getQuantity(item)));
+    }
+  }
   
   /****************************************************************
    * addContent adds an item to the contents of the user's fridge
-   * if the item does not already exist.
+   * if the item does not already exist. Items the catalog knows
+   * are kept under the catalog's spelling, so "eggs" and "Egg" are
+   * one item. If any recipe uses the item, the score of every 
+   * recipe that uses it goes up by one, so the scores always 
+   * reflect the current contents.
    * 
    * @param String ingredient is the item being added to contents
    **************************************************************/
   public void addContent(String ingredient) {
+    refresh();
+    int id = catalog.getDictionary().idOf(ingredient);
+    if (id >= 0) ingredient = catalog.getDictionary().nameOf(id); //one spelling per ingredient
+    if (!contents.contains(ingredient)) contents.add(ingredient);
+    
+    if (id >= 0) scores.add(id);
+  }
+  
+  /****************************************************************
+   * addContent adds an item to the user's fridge like the method
+   * above, together with how much of it there is, such as "2" or
+   * "500 g", replacing any amount given before. A recipe only 
+   * counts the item if there is at least as much as it needs; an
+   * amount that cannot be compared with the recipes' (an unknown
+   * unit, or cups of something recipes weigh) counts as enough.
+   * 
+   * @param String ingredient is the item being added to contents
+   * @param String quantity is how much of it there is
+   **************************************************************/
+  public void addContent(String ingredient, String quantity) {
+    refresh();
+    int id = catalog.getDictionary().idOf(ingredient);
+    if (id >= 0) ingredient = catalog.getDictionary().nameOf(id);
     if (!contents.contains(ingredient)) contents.add(ingredient);
+    Quantity amount = Quantity.parse(quantity);
+    quantities.put(ingredient, amount);
+    
+    if (id >= 0) scores.add(id, catalog.amountOf(id, amount));
+  }
+  
+  /****************************************************************
+   * getQuantity returns how much of an item the user has said is 
+   * in their fridge, or Quantity.UNKNOWN if they have not said.
+   * 
+   * @param String ingredient is the item
+   **************************************************************/
+  public Quantity getQuantity(String ingredient) {
+    int id = catalog.getDictionary().idOf(ingredient);
+    if (id >= 0) ingredient = catalog.getDictionary().nameOf(id);
+    Quantity amount = quantities.get(ingredient);
+    return (amount == null) ? Quantity.UNKNOWN : amount;
   }
   
   /****************************************************************
    * removeContent removes an item from the contents of the user's 
-   * fridge if the item is contained in contents
+   * fridge if the item is contained in contents, and takes one
+   * off the score of every recipe that uses it.
    * 
    * @param String ingredient is the item being removed
    **************************************************************/
   public void removeContent(String ingredient) {
+    refresh();
+    int id = catalog.getDictionary().idOf(ingredient);
+    if (id >= 0) ingredient = catalog.getDictionary().nameOf(id);
     if (contents.contains(ingredient)) contents.remove(ingredient);
+    quantities.remove(ingredient);
+    
+    if (id >= 0) scores.remove(id);
   }
 
   /****************************************************************
-   * calculateScores calculates the scores of all recipes in 
-   * recipeBox based on the user's fridge's contents. It uses
-   * two nested for loops to:
-   * 1) visit every recipe in recipeBox
-   * 2) loop through the contents of the recipe and increment
-   * the score of the recipe if a particular item is available
-   * 
-   * It creates a temporary PriorityQueue<Recipe> in order to
-   * nondestructively traverse recipeBox, and eventually reassigns
-   * recipeBox to the temporary queue.
+   * calculateScores recalculates the scores of all recipes from
+   * the user's fridge's contents. addContent and removeContent 
+   * already keep the scores current, so this is only needed as a
+   * consistency check; it starts from zero, so calling it twice 
+   * never counts an item twice.
    **************************************************************/
   public void calculateScores() {
-    PriorityQueue<Recipe> newRecipes = new PriorityQueue<Recipe>();
-    
-    //outer for loop visits each element in recipeBox
-    while (!recipeBox.isEmpty()) {
-      Recipe r = recipeBox.remove(); //pops each element in recipeBox
-      
-      //inner for loop tests recipe for each ingredient
-      for (int j = 0; j < contents.size(); j++) { 
-        String ingredient = contents.get(j); 
-        if (r.contains(ingredient)) r.incrementScore(); 
-      }
-      
-      newRecipes.add(r); //reconstructs recipeBox
-    }
-    
-    recipeBox = newRecipes;
+    refresh();
+    long start = RecipeMetrics.CALCULATE_SCORES.start();
+    scores.recalculate();
+    RecipeMetrics.CALCULATE_SCORES.stop(start);
   }
   
   /****************************************************************
-   * topRecipes returns a String[] of the top three most appropriate
-   * recipes. In the future, this method could be revised to 
-   * return @param n most appropriate recipes. This method 
-   * creates a temporary PriorityQueue<Recipe> in order to 
-   * non-destructively traverse recipeBox. It adds the first three
-   * recipes in recipeBox (sorted because it is a PriorityQueue)
-   * to the String[] and then reconstructs the PriorityQueue.
+   * getScore returns this user's score for Recipe r under the
+   * current ScoringStrategy; by default, the number of its 
+   * ingredients in the fridge.
    * 
-   * KNOWN BUG: if there are fewer than three recipes, this method
-   * will run into a NoSuchElement exception. However, we only 
-   * plan to read from the default recipe list, which contains
-   * 10 recipes, in this application. In the future, if 
-   * we were to revise it to return n recipes, we would have to
-   * make sure n > 0 && n < the number of recipes. 
+   * @param Recipe r is a recipe from this user's catalog
+   **************************************************************/
+  public double getScore(Recipe r) {
+    refresh();
+    return scores.getScore(r.getId());
+  }
+  
+  /****************************************************************
+   * setScoringStrategy changes how this user's recipes are ranked
+   * by topRecipes and scored by getScore.
+   * 
+   * @param ScoringStrategy strategy is the new strategy
+   **************************************************************/
+  public void setScoringStrategy(ScoringStrategy strategy) {
+    refresh();
+    scores.setStrategy(strategy);
+  }
+  
+  /****************************************************************
+   * getScoringStrategy returns how this user's recipes are ranked.
+   **************************************************************/
+  public ScoringStrategy getScoringStrategy() {
+    return scores.getStrategy();
+  }
+  
+  /****************************************************************
+   * getCatalog returns the catalog this user's recipes come from.
+   **************************************************************/
+  public RecipeCatalog getCatalog() {
+    refresh();
+    return catalog;
+  }
+  
+  /****************************************************************
+   * addCatalogListener asks for listener to be given every new 
+   * catalog this user will move onto, on the thread that loaded
+   * it, so views holding ingredient IDs can rebuild them. Users
+   * made from a fixed catalog never get a new one.
+   * 
+   * @param Consumer<RecipeCatalog> listener is told of new catalogs
+   **************************************************************/
+  public void addCatalogListener(Consumer<RecipeCatalog> listener) {
+    if (source != null) source.addListener(listener);
+  }
+  
+  /****************************************************************
+   * topRecipes returns a String[] of the top three most appropriate
+   * recipes. It calls topRecipes(3).
    **************************************************************/
   public String[] topRecipes() {
-    String[] s = new String[3];  
-    
-    PriorityQueue<Recipe> temp = new PriorityQueue<Recipe>(); 
-    
-    //add top 3 recipes
-    for (int i = 0; i < 3; i++) {
-      Recipe r = recipeBox.remove();
-      s[i] = r.getName();
-      temp.add(r);
-    }
+    return topRecipes(3);
+  }
+  
+  /****************************************************************
+   * topRecipes returns a String[] of the k most appropriate 
+   * recipes, best first. If there are fewer than k recipes, all
+   * of them are returned. Ties go to the recipe that comes first
+   * in the recipe file.
+   * 
+   * The best k are picked from the scores array with a small 
+   * heap (see TopK), so the cost is O(n log k) and nothing in the
+   * catalog is modified.
+   * 
+   * @param int k is the number of recipes wanted
+   **************************************************************/
+  public String[] topRecipes(int k) {
+    refresh();
+    if (k <= 0) return new String[0];
     
-    //reconstruct recipeBox
-    while (!recipeBox.isEmpty()) {
-      temp.add(recipeBox.remove());
+    long start = RecipeMetrics.TOP_RECIPES.start();
+    int[] best = scores.top(k);
+    String[] s = new String[best.length];
+    for (int i = 0; i < best.length; i++) {
+      s[i] = catalog.get(best[i]).getName();
     }
-    
-    recipeBox = temp;
+    RecipeMetrics.TOP_RECIPES.stop(start);
     return s;
   }
 
   /****************************************************************
    * getRecipeNames returns a String[] of all recipe names in 
-   * recipeBox. This method creates a temporary PriorityQueue<Recipe> 
-   * in order to non-destructively traverse recipeBox. It calls
-   * the getName() method for each Recipe and saves that String to
-   * the String[] names, to be returned at the end of the method.
-   * Finally, it reassigns recipeBox as the temporary queue.
+   * the catalog, in the order of the recipe file.
    **************************************************************/
   public String[] getRecipeNames() {
-    String[] names = new String[recipeBox.size()];
-    PriorityQueue<Recipe> newRecipes = new PriorityQueue<Recipe>();
-
-    //traverse recipeBox
-    int i = 0;
-    while (!recipeBox.isEmpty()) {
-      Recipe r = recipeBox.remove(); //pop Recipe
-      names[i] = r.getName();
-      newRecipes.add(r); //add name
-      i++; //increment
+    refresh();
+    String[] names = new String[catalog.size()];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = catalog.get(i).getName();
     }
-    
-    recipeBox = newRecipes;
     return names;
   }
   
+  /****************************************************************
+   * searchRecipes returns the names of up to limit recipes whose
+   * names match what the user has typed, best first, allowing for
+   * typos (see RecipeNameSearch).
+   * 
+   * @param String query is what the user has typed
+   * @param int limit is the most names wanted
+   **************************************************************/
+  public String[] searchRecipes(String query, int limit) {
+    refresh();
+    int[] ids = catalog.getNameSearch().search(query, limit);
+    String[] names = new String[ids.length];
+    for (int i = 0; i < ids.length; i++) names[i] = catalog.get(ids[i]).getName();
+    return names;
+  }
+  
+  /****************************************************************
+   * getFridge returns a copy of the user's fridge as a BitSet over
+   * the catalog's ingredient IDs. It only says which items are 
+   * there, not whether there is enough of them; see getAmounts.
+   **************************************************************/
+  public BitSet getFridge() {
+    refresh();
+    return scores.getFridge();
+  }
+  
+  /****************************************************************
+   * getAmounts returns a copy of how much of each ingredient is in
+   * the user's fridge, by the catalog's ingredient IDs (see 
+   * FridgeScores.getAmounts), for Recipe.getAvailable, 
+   * Recipe.getNeed and RecipeCatalog.score, which then agree with
+   * the user's scores.
+   **************************************************************/
+  public float[] getAmounts() {
+    refresh();
+    return scores.getAmounts();
+  }
+  
+  /****************************************************************
+   * makeable returns the recipes the user can make while missing
+   * at most maxMissing ingredients, as a lazy stream, so nothing
+   * is built for recipes the caller never looks at (see
+   * RecipeCatalog.makeable). An item counts as missing if there 
+   * is not enough of it for the recipe, as in the scores. The 
+   * stream works on a copy of the fridge, so the contents can 
+   * change while it is in use.
+   * 
+   * @param int maxMissing is the most missing ingredients allowed
+   **************************************************************/
+  public Stream<Recipe> makeable(int maxMissing) {
+    refresh();
+    return catalog.makeable(getAmounts(), maxMissing).mapToObj(catalog::get);
+  }
+  
   /****************************************************************
    * findInList takes in a String name and returns the Recipe 
-   * associated with it. It non-destructively traverses recipeBox
-   * and returns the Recipe whose name matches @param String 
-   * name being searched for, and an error message if the recipe
-   * does not exist. 
+   * associated with it, or null if the recipe does not exist. The
+   * lookup goes through the catalog's name index, so it takes the
+   * same time however many recipes there are. If several recipes
+   * share the name, the first one in the file is returned.
    **************************************************************/
   public Recipe findInList(String name) {
-    PriorityQueue<Recipe> newRecipes = new PriorityQueue<Recipe>();
-    
-    Recipe returnRecipe = new Recipe("Recipe does not exist");
-    
-    while (!recipeBox.isEmpty()) { 
-      Recipe r = recipeBox.remove(); //pops each element in recipeBox
-      if (r.getName().equals(name)) //if Recipe with given name is found
-        returnRecipe = r; //set returnRecipe
-      newRecipes.add(r); //reconstructs recipeBox
-    }
-    
-    recipeBox = newRecipes;
-    return returnRecipe;
+    refresh();
+    long start = RecipeMetrics.FIND_IN_LIST.start();
+    Recipe recipe = catalog.find(name);
+    RecipeMetrics.FIND_IN_LIST.stop(start);
+    return recipe;
   }
   
   /****************************************************************
@@ -262,22 +389,18 @@ public class User {
   }
   
   /****************************************************************
-   * getRecipes non-destructively traverses the recipeBox 
-   * PriorityQueue and returns a String representation of all recipes
-   * separated by a new line.
+   * getRecipes returns a String representation of all recipes
+   * with this user's scores, separated by a new line.
    **************************************************************/
   public String getRecipes() {
+    refresh();
     String s = "";
-    PriorityQueue<Recipe> newRecipes = new PriorityQueue<Recipe>();
     
-    //traverse recipeBox
-    while (!recipeBox.isEmpty()) { 
-      Recipe r = recipeBox.remove(); 
-      s += r.toString() + "\n";
-      newRecipes.add(r); //reconstructs recipeBox
+    for (int i = 0; i < catalog.size(); i++) {
+      Recipe r = catalog.get(i);
+      s += "(score " + scores.getMatched(i) + ") " + r.toString() + "\n";
     }
     
-    recipeBox = newRecipes;
     return s; 
   }
   
@@ -285,8 +408,9 @@ public class User {
    * toString returns a String representation of the user.
    **************************************************************/
   public String toString() {
+   refresh();
    String r = name + " has " + contents.size() + " items in the fridge:\n" 
-     + getContents() + "\n" + name + " has " + recipeBox.size() 
+     + getContents() + "\n" + name + " has " + catalog.size() 
      + " recipes in the recipe box:\n" + getRecipes();
    return r;
   }
@@ -306,6 +430,7 @@ public class User {
     test.addContent("Peppers");
     test.addContent("Bacon");
     test.addContent("Bacon"); //testing duplicates
+    test.addContent("bacon "); //testing other spellings
     test.addContent("Mayo");
     test.addContent("Chips");
     test.addContent("w@Cky"); //testing weird shit
@@ -320,24 +445,80 @@ public class User {
     //testing calculateScores
     System.out.println("\nTesting calculateScores");
     test.calculateScores();
+    test.calculateScores(); //testing that scores are not counted twice
     emptyTest.calculateScores();
-    System.out.println("Expected: Chicken Salad Sandwich, BLT, Ham Sandwich,...\tActual: " 
-                         + test.recipeBox);
+    System.out.println("Expected: BLT 3, Chicken Salad Sandwich 3, Omelette 2,...\tActual: \n" 
+                         + test.getRecipes());
     
     //testing topRecipes
     System.out.println("\nTesting topRecipes");
-    System.out.println("Expected: Chicken Salad Sandwich, BLT, Ham Sandwich \tActual: " + Arrays.toString(test.topRecipes()));
+    System.out.println("Expected: BLT, Chicken Salad Sandwich, Omelette\tActual: " + Arrays.toString(test.topRecipes()));
+    System.out.println("Expected: BLT, Chicken Salad Sandwich\tActual: " + Arrays.toString(test.topRecipes(2)));
+    System.out.println("Expected: all 10 recipes\tActual: " + test.topRecipes(50).length);
+    System.out.println("Expected: empty\tActual: " + Arrays.toString(emptyTest.topRecipes()));
+    
+    //testing incremental scores
+    System.out.println("\nTesting incremental scores");
+    System.out.println("Adding PB, Jelly, Bread, then removing Bread");
+    test.addContent("PB");
+    test.addContent("Jelly");
+    test.addContent("Bread");
+    test.removeContent("Bread");
+    System.out.println("Expected: 2.0\tActual: " + test.getScore(test.findInList("PBnJ")));
+    System.out.println("Expected: 3.0\tActual: " + test.getScore(test.findInList("BLT")));
+    test.removeContent("PB");
+    test.removeContent("Jelly");
    
     //testing getRecipeNames
     System.out.println("\nTesting getRecipeNames");
     System.out.println("Expected: empty\tActual: " + Arrays.toString(emptyTest.getRecipeNames()));
-    System.out.println("Expected: Chicken Salad Sandwich, BLT,...\tActual: " + Arrays.toString(test.getRecipeNames()));
+    System.out.println("Expected: true\tActual: " + (test.getCatalog() == new User("OTHER").getCatalog()));
+    System.out.println("Expected: Alfredo Pasta, Chicken Noodle Soup,...\tActual: " + Arrays.toString(test.getRecipeNames()));
+
+    //testing makeable
+    System.out.println("\nTesting makeable");
+    System.out.println("Expected: [BLT, PBnJ]\tActual: " 
+                         + test.makeable(3).map(Recipe::getName).collect(Collectors.toList()));
+    System.out.println("Expected: 0\tActual: " + emptyTest.makeable(1).count());
+
+    //testing amounts
+    System.out.println("\nTesting amounts");
+    RecipeCatalog.Builder builder = new RecipeCatalog.Builder();
+    IngredientDictionary dictionary = builder.getDictionary();
+    int egg = dictionary.intern("Egg"), flour = dictionary.intern("Flour");
+    builder.addRecipe("Omelette", new int[] {egg}, new Quantity[] {Quantity.parse("6")}, 1);
+    builder.addRecipe("Pancakes", new int[] {egg, flour},
+                      new Quantity[] {Quantity.parse("1"), Quantity.parse("1 cup")}, 2);
+    User pantry = new User("PANTRY", builder.build());
+    pantry.addContent("eggs", "2");
+    pantry.addContent("Flour");
+    System.out.println("Expected: [Pancakes]\tActual: " + Arrays.toString(pantry.topRecipes(1)));
+    System.out.println("Expected: 0.0\tActual: " + pantry.getScore(pantry.findInList("Omelette")));
+    System.out.println("Expected: [Pancakes]\tActual: " 
+                         + pantry.makeable(0).map(Recipe::getName).collect(Collectors.toList()));
+    int[] needed = new int[1];
+    pantry.findInList("Omelette").getNeed(pantry.getAmounts(), needed);
+    System.out.println("Expected: Egg\tActual: " + dictionary.nameOf(needed[0]));
+    pantry.addContent("Egg", "1 dozen"); //not a known unit: counts as enough
+    System.out.println("Expected: 1.0\tActual: " + pantry.getScore(pantry.findInList("Omelette")));
+    pantry.addContent("Egg", "6");
+    pantry.calculateScores();
+    System.out.println("Expected: 1.0 6\tActual: " + pantry.getScore(pantry.findInList("Omelette")) 
+                         + " " + pantry.getQuantity("eggs"));
+    pantry.removeContent("Egg");
+    System.out.println("Expected: 0.0 some\tActual: " + pantry.getScore(pantry.findInList("Omelette"))
+                         + " " + pantry.getQuantity("Egg"));
 
     //testing findInList
     System.out.println("\nTesting findInList");
-    System.out.println("Expected: error\tActual: " + test.findInList("error"));
+    System.out.println("Expected: null\tActual: " + test.findInList("error"));
     System.out.println("Expected: PBnJ\tActual: " + test.findInList("PBnJ"));
 
+    //testing searchRecipes
+    System.out.println("\nTesting searchRecipes");
+    System.out.println("Expected: Pancakes\tActual: " + Arrays.toString(test.searchRecipes("pan", 5)));
+    System.out.println("Expected: Smoothie\tActual: " + Arrays.toString(test.searchRecipes("smoothy", 5)));
+
   }
   
 }
\ No newline at end of file
@@ -5,26 +5,83 @@
  * This class creates one JFrame with a JTabbedPane that houses
  * the About tab and the User tab. The About tab includes a short introduction/instructions
  * and the User tab includes all of the user interaction.
+ *
+ * To show the window as soon as possible, the recipes are loaded on a background thread
+ * while the window is being built, the pictures are decoded in the background (see
+ * ImageCache), the recipe name search is built in the background once the recipes are in,
+ * and the User tab is only built the first time it is opened. The time from
+ * starting to the first frame on screen is printed.
  * WHEN: May 18 2014
  */
 
 import javax.swing.JFrame;
 import javax.swing.*;
-import java.io.*;
+import javax.swing.event.*;
+import java.awt.*;
+import java.awt.event.*;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.*;
 
 public class UserGUI {
   
-  public static void main (String[] args) throws IOException {
-    User driver = new User("Takis", "recipes0516.txt");
+  public static void main (String[] args) {
+    final long mainStart = System.currentTimeMillis();
     
-    JTabbedPane tp = new JTabbedPane();
-    tp.addTab("About", new AboutPanel());
-    tp.addTab("User", new UserPanel(driver));
+    // the recipes load while the window is built, and the name search is then built
+    // in the background too, so the first letter typed does not wait for it
+    final CompletableFuture<User> driver = CompletableFuture.supplyAsync(() -> {
+      User user = new User("Takis", "recipes0516.txt");
+      CompletableFuture.runAsync(user.getCatalog()::getNameSearch);
+      return user;
+    });
+    ImageCache.get("icon.jpg", 108, 145);
     
-    JFrame f = new JFrame("What's For Dinner?");
-    UserPanel upanel = new UserPanel(driver);
-    f.getContentPane().add(tp);
-    f.setSize(900, 700);
-    f.setVisible(true);
+    SwingUtilities.invokeLater(() -> {
+      final JTabbedPane tp = new JTabbedPane();
+      tp.addTab("About", new AboutPanel());
+      final JPanel userTab = new JPanel(new BorderLayout());
+      userTab.setBackground(Color.WHITE);
+      tp.addTab("User", userTab);
+      tp.addChangeListener(new ChangeListener() {
+        public void stateChanged(ChangeEvent event) {
+          if(tp.getSelectedComponent() == userTab && userTab.getComponentCount() == 0) {
+            buildUserTab(userTab, driver);
+          }
+        }
+      });
+
+      JFrame f = new JFrame("What's For Dinner?");
+      f.addWindowListener(new WindowAdapter() {
+        public void windowOpened(WindowEvent event) {
+          long now = System.currentTimeMillis();
+          System.out.println("First frame after " + (now - mainStart) + " ms ("
+                               + (now - ManagementFactory.getRuntimeMXBean().getStartTime())
+                               + " ms since the JVM started)");
+        }
+      });
+      f.getContentPane().add(tp);
+      f.setSize(900, 700);
+      f.setVisible(true);
+    });
+  }
+
+  /**
+   * buildUserTab fills the User tab with a UserPanel once the recipes are loaded,
+   * showing a loading message until then.
+   */
+  private static void buildUserTab(final JPanel userTab, CompletableFuture<User> driver) {
+    final JLabel loading = new JLabel("Loading recipes...", SwingConstants.CENTER);
+    userTab.add(loading, BorderLayout.CENTER);
+    driver.whenComplete((user, error) -> SwingUtilities.invokeLater(() -> {
+      userTab.remove(loading);
+      if(error != null) {
+        userTab.add(new JLabel("Could not load recipes", SwingConstants.CENTER), BorderLayout.CENTER);
+      }
+      else {
+        userTab.add(new UserPanel(user), BorderLayout.CENTER);
+      }
+      userTab.revalidate();
+      userTab.repaint();
+    }));
   }
 }
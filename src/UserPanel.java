@@ -8,30 +8,41 @@
  */
 
 import java.util.*;
-import java.io.*;
+import java.util.concurrent.ExecutionException;
 import java.awt.*;
 import java.awt.event.*;
 import javax.swing.*;
-import java.awt.image.BufferedImage;
-import javax.imageio.ImageIO;
+import javax.swing.event.*;
 
 /** 
- * Since this class uses BufferedImage, an IOException 
- * is thrown if file for image cannot be found.
+ * The icon is decoded in the background by ImageCache.
  * Various panels are placed within the UserPanel for 
- * smoother layout design and for the checkboxes, each
- * panel contains about seven checkboxes.
+ * smoother layout design. The ingredients are ticked in
+ * an IngredientPicker listing every ingredient of the
+ * user's recipes, which is rebuilt when they are reloaded.
  */
 public class UserPanel extends JPanel {
   private User driver;
-  private JPanel intro, buttons, p, p1, p2, p3, p4, p5, p6;
-  private JCheckBox[] foods = new JCheckBox[50];
+  private JPanel intro, buttons, p, p5, p6;
+  private IngredientPicker picker;
   private JButton calculate;
   private JLabel title, text1, text2;
   private JTextArea available, need;
-  private JComboBox options, topThree;
+  private JComboBox<String> topThree;
+  private JTextField search;
+  private DefaultListModel<String> matchNames;
+  private JList<String> matches;
+  private JScrollPane matchPane;
+  private int[] ingredientBuffer = new int[16]; //reused by showRecipe
+  private ScoringWorker scoring; // the latest scoring run, or null
+  private SearchListener searcher; // fills the matches list
+  private IndexWorker indexing; // builds the name search, or null
+  private boolean fillingChoices; // true while topThree is being refilled
+  private static final int SEARCH_RESULTS = 20; // names shown for a search
+  private static final int TOP_CHOICES = 3; // recipes shown in topThree
+  private static final String PROMPT = "Select from your top three choices";
   
-  public UserPanel(User u) throws IOException {
+  public UserPanel(User u) {
     driver = u;
     setBackground(Color.WHITE);
     setLayout (new BoxLayout(this, BoxLayout.Y_AXIS));
@@ -39,8 +50,8 @@ public class UserPanel extends JPanel {
     p = new JPanel();
     add(p);
     p.setBackground(Color.WHITE);
-    BufferedImage icon = ImageIO.read(new File("icon.jpg"));
-    JLabel picLabel = new JLabel(new ImageIcon(icon));
+    JLabel picLabel = new JLabel();
+    ImageCache.show(picLabel, "icon.jpg", 108, 145);
     p.add(picLabel);
     
     JLabel text = new JLabel("What's in your fridge?");
@@ -50,57 +61,10 @@ public class UserPanel extends JPanel {
     p.add(text);
     add (Box.createRigidArea (new Dimension (0, 20)));
     
-    // These next few panels house the check boxes of ingredients
-    p1 = new JPanel(new FlowLayout());
-    p1.setBackground(Color.WHITE);
-    add(p1);
-    
-    p1.add(foods[0] = new JCheckBox("Bacon"));
-    p1.add(foods[1] = new JCheckBox("Bananas"));
-    p1.add(foods[2] = new JCheckBox("Blueberries"));
-    p1.add(foods[3] = new JCheckBox("Bread"));
-    p1.add(foods[4] = new JCheckBox("Broth"));
-    p1.add(foods[5] = new JCheckBox("Butter"));
-    p1.add(foods[6] = new JCheckBox("Carrots"));
-    
-    p2 = new JPanel(new FlowLayout());
-    add(p2);
-    p2.setBackground(Color.WHITE);
-    p2.add(foods[7] = new JCheckBox("Celery"));
-    p2.add(foods[8] = new JCheckBox("Chicken"));
-    p2.add(foods[9] = new JCheckBox("Chips"));
-    p2.add(foods[10] = new JCheckBox("Cheese"));
-    p2.add(foods[11] = new JCheckBox("Dressing"));
-    p2.add(foods[12] = new JCheckBox("Eggs"));
-    p2.add(foods[13] = new JCheckBox("Flour"));
-    p2.add(foods[14] = new JCheckBox("Ham"));
-    
-    p3 = new JPanel(new FlowLayout());
-    add(p3);
-    p3.setBackground(Color.WHITE);
-    p3.add(foods[15] = new JCheckBox("Ice Cream"));
-    p3.add(foods[16] = new JCheckBox("Jelly"));
-    p3.add(foods[17] = new JCheckBox("Lettuce"));
-    p3.add(foods[18] = new JCheckBox("Maple Syrup"));
-    p3.add(foods[19] = new JCheckBox("Mayo"));
-    p3.add(foods[20] = new JCheckBox("Milk"));
-    p3.add(foods[21] = new JCheckBox("Mushrooms"));
-    
-    p4 = new JPanel(new FlowLayout());
-    add(p4);
-    p4.setBackground(Color.WHITE);
-    p4.add(foods[22] = new JCheckBox("Pasta"));
-    p4.add(foods[23] = new JCheckBox("PB"));
-    p4.add(foods[24] = new JCheckBox("Peas"));
-    p4.add(foods[25] = new JCheckBox("Peppers"));
-    p4.add(foods[26] = new JCheckBox("Strawberries"));
-    p4.add(foods[27] = new JCheckBox("Spinach"));
-    p4.add(foods[28] = new JCheckBox("Tomato"));
-    
-    for(int i = 0; i < 29; i++) {
-      foods[i].setFont (new Font ("Trebuchet MS", Font.PLAIN, 12));
-      foods[i].setBackground(Color.WHITE);
-    }
+    // the ingredients to pick from come from the recipes themselves
+    picker = new IngredientPicker(driver.getCatalog());
+    add(picker);
+    driver.addCatalogListener(catalog -> SwingUtilities.invokeLater(() -> picker.setCatalog(catalog)));
     
     add (Box.createRigidArea (new Dimension (0, 20)));
     
@@ -123,17 +87,25 @@ public class UserPanel extends JPanel {
     text1.setForeground(Color.RED.darker());
     text1.setFont (new Font ("Trebuchet MS", Font.BOLD, 12));
     
-    String[] three = {"Select from your top three choices"};
-    topThree = new JComboBox(three);
+    String[] three = {PROMPT};
+    topThree = new JComboBox<String>(three);
     topThree.addActionListener (new ComboListener());
     
-    text2 = new JLabel("Or select from all the options: ");
+    text2 = new JLabel("Or search all the recipes: ");
     text2.setForeground(Color.RED.darker());
     text2.setFont (new Font ("Trebuchet MS", Font.BOLD, 12));
     
-    String[] choices = driver.getRecipeNames();
-    options = new JComboBox(choices);
-    options.addActionListener (new ComboListener());
+    // the matches list is filled in by the SearchListener as the user types
+    search = new JTextField(15);
+    searcher = new SearchListener();
+    search.getDocument().addDocumentListener (searcher);
+    matchNames = new DefaultListModel<String>();
+    matches = new JList<String>(matchNames);
+    matches.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+    matches.setVisibleRowCount(5);
+    matches.addListSelectionListener (new MatchListener());
+    matchPane = new JScrollPane(matches);
+    matchPane.setPreferredSize(new Dimension(220, 100));
     
     add (Box.createRigidArea (new Dimension (0, 20)));
     
@@ -156,62 +128,253 @@ public class UserPanel extends JPanel {
   }
   
   /** 
-   * The ButtonListener is attached to the "calculate" button. It populates the "contents"
-   * LinkedList with the ingredients that the user selects and calculates the scores of
-   * each recipe based on the items that the user has. It also adds the combo
-   * boxes after the user clicks "calculate".
+   * The ButtonListener is attached to the "calculate" button. It updates the "contents"
+   * LinkedList with the ingredients that the user selects (removing any that were
+   * unchecked) and adds the combo boxes after the user clicks "calculate". The scores
+   * themselves are worked out by a ScoringWorker in the background, so the window
+   * stays responsive however many recipes there are; clicking again cancels a
+   * calculation that is still running and starts a new one.
    */
   private class ButtonListener implements ActionListener {
     
     public void actionPerformed (ActionEvent event) {
       
       if (event.getSource() == calculate) {
-        for(int i = 0; i < 29; i++) {
-          if(foods[i].isSelected()) {            
-            String foodname = foods[i].getText();
-            driver.addContent(foodname);  
+        java.util.List<String> picked = picker.getPicked();
+        for(String foodname : new ArrayList<String>(driver.contents)) {
+          if(!picked.contains(foodname)) {
+            driver.removeContent(foodname); // unticked since the last calculate
           }   
         }
+        for(String foodname : picked) {
+          driver.addContent(foodname);
+        }
         p5.add(text1);
         p5.add(topThree);
         p5.add(text2);
-        p5.add(options);
-        driver.calculateScores();
-        String[] newTopChoices = driver.topRecipes();
-        for(int i = 0; i < newTopChoices.length; i++) {
-          topThree.addItem(newTopChoices[i]);
+        p5.add(search);
+        p5.add(matchPane);
+        p5.revalidate();
+        
+        if(scoring != null) {
+          scoring.cancel(true);
         }
+        scoring = new ScoringWorker(driver.getCatalog(), driver.getAmounts(), 
+                                    driver.getScoringStrategy());
+        calculate.setText("Calculating...");
+        scoring.execute();
       }  
     }    
   }
   
   /** 
-   * The ComboListener is attached to the combo boxes. It retrieves the 
-   * selected recipe that the user wants to make and returns specific information
-   * about the ingredients that the user already has and the ingredients that
-   * the user needs in order to make that recipe.
+   * The ScoringWorker finds the top recipes on a background thread. It works
+   * from a copy of the fridge's amounts taken when calculate was clicked, so
+   * a recipe only counts what there is enough of, and never
+   * touches the User, which is only used on the event thread. Recipes are
+   * scored a chunk at a time; after each chunk the best recipes so far are
+   * published, so the combo box fills in while a large catalog is scored, and
+   * the worker stops between chunks once it is cancelled.
    */
-  private class ComboListener implements ActionListener {
+  private class ScoringWorker extends SwingWorker<String[], String[]> {
+    
+    private static final int CHUNK = 1 << 16; // recipes scored between updates
+    private final RecipeCatalog catalog;
+    private final float[] fridge;
+    private final ScoringStrategy strategy;
+    
+    ScoringWorker(RecipeCatalog catalog, float[] fridge, ScoringStrategy strategy) {
+      this.catalog = catalog;
+      this.fridge = fridge;
+      this.strategy = strategy;
+    }
+    
+    protected String[] doInBackground() {
+      TopK best = new TopK(TOP_CHOICES);
+      for(int start = 0; start < catalog.size() && !isCancelled(); start += CHUNK) {
+        int end = Math.min(start + CHUNK, catalog.size());
+        for(int r = start; r < end; r++) {
+          best.offer(r, catalog.score(r, fridge, strategy));
+        }
+        publish(names(best.toArray()));
+      }
+      return names(best.toArray());
+    }
     
-    private String selectedFood;
-    private Recipe selectedRecipe;
-    private String a, n;
+    private String[] names(int[] ids) {
+      String[] names = new String[ids.length];
+      for(int i = 0; i < ids.length; i++) {
+        names[i] = catalog.get(ids[i]).getName();
+      }
+      return names;
+    }
+    
+    protected void process(java.util.List<String[]> partial) {
+      if(!isCancelled()) {
+        setChoices(partial.get(partial.size() - 1));
+      }
+    }
+    
+    protected void done() {
+      if(isCancelled() || scoring != this) {
+        return;
+      }
+      try {
+        setChoices(get());
+        calculate.setText("Calculate");
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        calculate.setText("Calculate");
+      } catch (ExecutionException e) {
+        // the partial choices already shown stay, but the user is told
+        System.out.println("Could not score the recipes: " + e.getCause());
+        e.getCause().printStackTrace();
+        calculate.setText("Scoring failed - Calculate again");
+      }
+    }
+  }
+  
+  /** 
+   * setChoices replaces the recipes in topThree with the given names, after
+   * the prompt, without the ComboListener treating the change as a choice.
+   */
+  private void setChoices(String[] names) {
+    fillingChoices = true;
+    Object selected = topThree.getSelectedItem();
+    topThree.removeAllItems();
+    topThree.addItem(PROMPT);
+    for(int i = 0; i < names.length; i++) {
+      topThree.addItem(names[i]);
+    }
+    topThree.setSelectedItem(Arrays.asList(names).contains(selected) ? selected : PROMPT);
+    fillingChoices = false;
+  }
+  
+  /** 
+   * showRecipe displays which ingredients the user already has and which
+   * ones the user still needs for the recipe with the given name, where an
+   * ingredient the user has too little of is still needed. If there
+   * is no such recipe (for example, the "Select from..." prompt), the text
+   * is cleared.
+   */
+  private void showRecipe(String name) {
+    Recipe selectedRecipe = driver.findInList(name);
+    if(selectedRecipe == null) {
+      available.setText("");
+      need.setText("");
+      return;
+    }
+    
+    float[] fridge = driver.getAmounts();
+    if(ingredientBuffer.length < selectedRecipe.length()) {
+      ingredientBuffer = new int[selectedRecipe.length()];
+    }
+    int a = selectedRecipe.getAvailable(fridge, ingredientBuffer);
+    available.setText(listIngredients("You have: \n", ingredientBuffer, a));
+    int n = selectedRecipe.getNeed(fridge, ingredientBuffer);
+    need.setText(listIngredients("You still need: \n", ingredientBuffer, n));
+  }
+  
+  /** 
+   * listIngredients formats the first count ingredient IDs in ids as
+   * their names, one per line under the given heading.
+   */
+  private String listIngredients(String heading, int[] ids, int count) {
+    IngredientDictionary dictionary = driver.getCatalog().getDictionary();
+    StringBuilder text = new StringBuilder(heading);
+    for(int i = 0; i < count; i++) {
+      text.append(' ').append(dictionary.nameOf(ids[i])).append('\n');
+    }
+    return text.toString();
+  }
+  
+  /** 
+   * The ComboListener is attached to the top choices combo box. It retrieves the 
+   * selected recipe that the user wants to make and shows it with showRecipe.
+   */
+  private class ComboListener implements ActionListener {
     
     public void actionPerformed (ActionEvent event) {
+      if(!fillingChoices) {
+        showRecipe((String)topThree.getSelectedItem());
+      }
+    }
+  }
+    
+  /** 
+   * The SearchListener is attached to the search field. Every time the text
+   * changes it asks the recipe name search for the best matches of what has
+   * been typed so far, and puts their names in the matches list. If the
+   * name search has not been built yet, it says so and has an IndexWorker
+   * build it, rather than building it on the event thread.
+   */
+  private class SearchListener implements DocumentListener {
       
-      // gets the "selectedFood" item based on which menu the user chooses from
-      if(event.getSource() == topThree) {
-        selectedFood = (String)topThree.getSelectedItem();
+    public void insertUpdate (DocumentEvent event) { update(); }
+    public void removeUpdate (DocumentEvent event) { update(); }
+    public void changedUpdate (DocumentEvent event) { update(); }
+    
+    private void update() {
+      matchNames.clear();
+      RecipeCatalog catalog = driver.getCatalog();
+      if(!catalog.hasNameSearch()) {
+        matchNames.addElement("Indexing recipes...");
+        if(indexing == null) {
+          indexing = new IndexWorker(catalog);
+          indexing.execute();
+        }
+        return;
       }
-      else if(event.getSource() == options) {
-        selectedFood = (String)options.getSelectedItem();
+      for (String name : driver.searchRecipes(search.getText(), SEARCH_RESULTS)) {
+        matchNames.addElement(name);
+      }
+    }
+  }
+  
+  /** 
+   * The IndexWorker builds a catalog's name search in the background and
+   * then searches again for whatever has been typed by then.
+   */
+  private class IndexWorker extends SwingWorker<Void, Void> {
+    private RecipeCatalog catalog;
+    
+    public IndexWorker(RecipeCatalog catalog) {
+      this.catalog = catalog;
+    }
+    
+    protected Void doInBackground() {
+      catalog.getNameSearch();
+      return null;
+    }
+    
+    protected void done() {
+      indexing = null;
+      try {
+        get();
+      }
+      catch(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      catch(ExecutionException e) {
+        System.out.println("Could not index the recipes: " + e.getCause());
+        e.getCause().printStackTrace();
+        return;
+      }
+      searcher.update();
+    }
+  }
+  
+  /** 
+   * The MatchListener is attached to the matches list and shows the recipe
+   * that the user picks from it.
+   */
+  private class MatchListener implements ListSelectionListener {
+    
+    public void valueChanged (ListSelectionEvent event) {
+      if(!event.getValueIsAdjusting() && matches.getSelectedValue() != null) {
+        showRecipe(matches.getSelectedValue());
       }
-      selectedRecipe = driver.findInList(selectedFood);
-      
-      a = selectedRecipe.getAvailable(driver.contents);
-      n = selectedRecipe.getNeed(driver.contents);
-      available.setText("You have: \n" + a);
-      need.setText("You still need: \n" + n);
     }
   }
 }
\ No newline at end of file